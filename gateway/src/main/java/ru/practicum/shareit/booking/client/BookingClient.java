@@ -1,34 +1,69 @@
 package ru.practicum.shareit.booking.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingFromUserDto;
 import ru.practicum.shareit.enums.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.UpstreamGuard;
+import ru.practicum.shareit.item.client.ItemClient;
 
+import java.io.IOException;
 import java.util.Map;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
 @Service
+@ConditionalOnWebApplication(type = SERVLET)
 public class BookingClient extends BaseClient {
 
     private static final String API_PREFIX = "/bookings";
 
+    private final ObjectMapper objectMapper;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory,
+                         @Value("${shareit-server.passthrough}") boolean passthrough,
+                         ResponseCache responseCache,
+                         RequestCoalescer requestCoalescer,
+                         UpstreamGuard upstreamGuard,
+                         ObjectMapper objectMapper) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                responseCache,
+                ResponseCache.BOOKINGS,
+                requestCoalescer,
+                upstreamGuard
         );
+        this.objectMapper = objectMapper;
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                              @Nullable String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "size", size,
+                    "cursor", cursor
+            );
+            return get("?state={state}&size={size}&cursor={cursor}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -38,14 +73,24 @@ public class BookingClient extends BaseClient {
     }
 
     public ResponseEntity<Object> bookItem(long userId, BookingFromUserDto bookingFromUser) {
-        return post("", userId, bookingFromUser);
+        return evictOnSuccess(post("", userId, bookingFromUser), ResponseCache.ITEMS,
+                ItemClient.itemResource(bookingFromUser.getItemId()));
     }
 
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getItemsOwnerBookings(long userId, BookingState state, Integer from, Integer size) {
+    public ResponseEntity<Object> getItemsOwnerBookings(long userId, BookingState state, Integer from, Integer size,
+                                                        @Nullable String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "size", size,
+                    "cursor", cursor
+            );
+            return get("/owner?state={state}&size={size}&cursor={cursor}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -58,7 +103,30 @@ public class BookingClient extends BaseClient {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        ResponseEntity<Object> response = patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        Long itemId = bookedItemId(response);
+        if (itemId == null) {
+            return response;
+        }
+        return evictOnSuccess(response, ResponseCache.ITEMS, ItemClient.itemResource(itemId));
+    }
+
+    private Long bookedItemId(ResponseEntity<Object> response) {
+        Object body = response.getBody();
+        if (body instanceof Map && ((Map<?, ?>) body).get("item") instanceof Map) {
+            Object id = ((Map<?, ?>) ((Map<?, ?>) body).get("item")).get("id");
+            return id instanceof Number ? ((Number) id).longValue() : null;
+        }
+        // В режиме passthrough тело приходит байтами, вещь бронирования читается из JSON
+        if (body instanceof byte[] && response.getStatusCode().is2xxSuccessful()) {
+            try {
+                JsonNode id = objectMapper.readTree((byte[]) body).path("item").path("id");
+                return id.canConvertToLong() ? id.asLong() : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return null;
     }
 
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -15,8 +16,11 @@ import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = SERVLET)
 @Validated
 @RequiredArgsConstructor
 @RequestMapping("/bookings")
@@ -29,14 +33,15 @@ public class BookingController {
 	public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
 											  @RequestParam(name = "state", required = false) String stateParam,
 											  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+											  @RequestParam(required = false) String cursor) {
 		if (stateParam == null) stateParam = "ALL";
 		String finalStateParam = stateParam;
 		BookingState state = BookingState.from(finalStateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + finalStateParam));
-		log.info("Received GET-request at /bookings?state={}&from={}&size={} endpoint from user id={}",
-				state, from, size, userId);
-		return bookingClient.getBookings(userId, state, from, size);
+		log.info("Received GET-request at /bookings?state={}&from={}&size={}&cursor={} endpoint from user id={}",
+				state, from, size, cursor, userId);
+		return bookingClient.getBookings(userId, state, from, size, cursor);
 	}
 
 	@PostMapping
@@ -57,14 +62,15 @@ public class BookingController {
 	public ResponseEntity<Object> getItemsOwnerBookings(@RequestHeader("X-Sharer-User-Id") long userId,
 														@RequestParam(name = "state", required = false) String stateParam,
 														@PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-														@Positive @RequestParam(defaultValue = "10") Integer size) {
+														@Positive @RequestParam(defaultValue = "10") Integer size,
+														@RequestParam(required = false) String cursor) {
 		if (stateParam == null) stateParam = "ALL";
 		String finalStateParam = stateParam;
 		BookingState state = BookingState.from(finalStateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + finalStateParam));
-		log.info("Received GET-request at /bookings/owner?state={}&from={}&size={} endpoint from user id={}",
-				state, from, size, userId);
-		return bookingClient.getItemsOwnerBookings(userId, state, from, size);
+		log.info("Received GET-request at /bookings/owner?state={}&from={}&size={}&cursor={} endpoint from user id={}",
+				state, from, size, cursor, userId);
+		return bookingClient.getItemsOwnerBookings(userId, state, from, size, cursor);
 	}
 
 	@PatchMapping("/{bookingId}")
@@ -2,6 +2,7 @@ package ru.practicum.shareit.client;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -13,10 +14,26 @@ import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization",
+            "te", "trailer", "transfer-encoding", "upgrade", "content-length"
+    );
 
-    public BaseClient(RestTemplate rest) {
+    protected final RestTemplate rest;
+    private final boolean passthrough;
+    private final ResponseCache responseCache;
+    private final String cacheRegion;
+    private final RequestCoalescer requestCoalescer;
+    private final UpstreamGuard upstreamGuard;
+
+    public BaseClient(RestTemplate rest, boolean passthrough, ResponseCache responseCache, String cacheRegion,
+                      RequestCoalescer requestCoalescer, UpstreamGuard upstreamGuard) {
         this.rest = rest;
+        this.passthrough = passthrough;
+        this.responseCache = responseCache;
+        this.cacheRegion = cacheRegion;
+        this.requestCoalescer = requestCoalescer;
+        this.upstreamGuard = upstreamGuard;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -31,6 +48,41 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> getCached(String resource, String path) {
+        return getCached(resource, path, null, null, false);
+    }
+
+    protected ResponseEntity<Object> getCached(String resource, String path, long userId) {
+        return getCached(resource, path, userId, null, true);
+    }
+
+    protected ResponseEntity<Object> getCached(String resource, String path, Long userId,
+                                               @Nullable Map<String, Object> parameters, boolean userScoped) {
+        String uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters).toString()
+                : rest.getUriTemplateHandler().expand(path).toString();
+        String key = userScoped ? userId + " " + uri : uri;
+        return responseCache.get(cacheRegion, resource, key,
+                () -> requestCoalescer.execute(key, () -> get(path, userId, parameters)));
+    }
+
+    protected ResponseEntity<Object> evictOnSuccess(ResponseEntity<Object> response, String region,
+                                                    String... resources) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            responseCache.evict(region, resources);
+        }
+        return response;
+    }
+
+    protected ResponseEntity<Object> invalidateOnSuccess(ResponseEntity<Object> response, String... regions) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            for (String region : regions) {
+                responseCache.invalidate(region);
+            }
+        }
+        return response;
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -82,17 +134,24 @@ public class BaseClient {
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
+            return upstreamGuard.execute(cacheRegion, method, () -> {
+                if (passthrough) {
+                    return preparePassthroughResponse(exchange(method, path, requestEntity, byte[].class, parameters));
+                }
+                return prepareGatewayResponse(exchange(method, path, requestEntity, Object.class, parameters));
+            });
         } catch (HttpStatusCodeException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private <T, R> ResponseEntity<R> exchange(HttpMethod method, String path, HttpEntity<T> requestEntity,
+                                              Class<R> responseType, @Nullable Map<String, Object> parameters) {
+        if (parameters != null) {
+            return rest.exchange(path, method, requestEntity, responseType, parameters);
+        }
+        return rest.exchange(path, method, requestEntity, responseType);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -118,4 +177,14 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    private static ResponseEntity<Object> preparePassthroughResponse(ResponseEntity<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                headers.addAll(name, values);
+            }
+        });
+        return ResponseEntity.status(response.getStatusCode()).headers(headers).body(response.getBody());
+    }
 }
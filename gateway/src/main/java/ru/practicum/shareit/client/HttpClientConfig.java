@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+@Configuration
+@ConditionalOnWebApplication(type = SERVLET)
+@EnableConfigurationProperties({HttpClientProperties.class, ResponseCacheProperties.class})
+public class HttpClientConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http-client.http2", havingValue = "false", matchIfMissing = true)
+    public InstrumentedConnectionManager connectionManager(HttpClientProperties properties, MeterRegistry registry) {
+        InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(registry,
+                properties.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server").bindTo(registry);
+        return connectionManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http-client.http2", havingValue = "false", matchIfMissing = true)
+    public CloseableHttpClient httpClient(InstrumentedConnectionManager connectionManager,
+                                          HttpClientProperties properties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy(properties.getKeepAlive()))
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getEvictIdleAfter().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http-client.http2", havingValue = "false", matchIfMissing = true)
+    public ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http-client.http2", havingValue = "true")
+    public ClientHttpRequestFactory http2ClientHttpRequestFactory(HttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        return new JdkClientHttpRequestFactory(httpClient, properties.getReadTimeout());
+    }
+
+    static ConnectionKeepAliveStrategy keepAliveStrategy(Duration keepAlive) {
+        long maxKeepAlive = keepAlive.toMillis();
+        return (response, context) -> {
+            long advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return advertised > 0 ? Math.min(advertised, maxKeepAlive) : maxKeepAlive;
+        };
+    }
+
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Timer leaseTimer;
+    private final Timer leaseTimeoutTimer;
+
+    public InstrumentedConnectionManager(MeterRegistry registry, long timeToLive, TimeUnit timeUnit) {
+        super(timeToLive, timeUnit);
+        this.leaseTimer = Timer.builder("shareit.gateway.http.pool.lease")
+                .description("Время ожидания соединения из пула")
+                .tag("result", "leased")
+                .register(registry);
+        this.leaseTimeoutTimer = Timer.builder("shareit.gateway.http.pool.lease")
+                .description("Время ожидания соединения из пула")
+                .tag("result", "timeout")
+                .register(registry);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long started = System.nanoTime();
+                try {
+                    HttpClientConnection connection = request.get(timeout, timeUnit);
+                    leaseTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    return connection;
+                } catch (ConnectionPoolTimeoutException e) {
+                    leaseTimeoutTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,183 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+public class JdkClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade"
+    );
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+
+    public JdkClientHttpRequestFactory(HttpClient httpClient, Duration readTimeout) {
+        this.httpClient = httpClient;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    @NonNull
+    public ClientHttpRequest createRequest(@NonNull URI uri, @NonNull HttpMethod httpMethod) {
+        return new JdkClientHttpRequest(uri, httpMethod);
+    }
+
+    private class JdkClientHttpRequest extends AbstractClientHttpRequest {
+
+        private final URI uri;
+        private final HttpMethod method;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        JdkClientHttpRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        @NonNull
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        @NonNull
+        public String getMethodValue() {
+            return method.name();
+        }
+
+        @Override
+        @NonNull
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        @NonNull
+        protected OutputStream getBodyInternal(@NonNull HttpHeaders headers) {
+            return body;
+        }
+
+        @Override
+        @NonNull
+        protected ClientHttpResponse executeInternal(@NonNull HttpHeaders headers) throws IOException {
+            byte[] bytes = body.toByteArray();
+            HttpRequest.BodyPublisher publisher = bytes.length > 0
+                    ? HttpRequest.BodyPublishers.ofByteArray(bytes)
+                    : HttpRequest.BodyPublishers.noBody();
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                    .timeout(readTimeout)
+                    .method(method.name(), publisher)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+            headers.forEach((name, values) -> {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                    values.forEach(value -> builder.header(name, value));
+                }
+            });
+            try {
+                return new JdkClientHttpResponse(httpClient.send(builder.build(),
+                        HttpResponse.BodyHandlers.ofInputStream()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Запрос к серверу прерван");
+            }
+        }
+
+    }
+
+    private static class JdkClientHttpResponse implements ClientHttpResponse {
+
+        private final HttpResponse<InputStream> response;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final boolean gzipped;
+        private InputStream body;
+
+        JdkClientHttpResponse(HttpResponse<InputStream> response) {
+            this.response = response;
+            response.headers().map().forEach((name, values) -> {
+                if (!name.startsWith(":")) {
+                    headers.addAll(name, values);
+                }
+            });
+            this.gzipped = "gzip".equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+            if (gzipped) {
+                headers.remove(HttpHeaders.CONTENT_ENCODING);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+            }
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        @NonNull
+        public HttpStatus getStatusCode() {
+            return HttpStatus.valueOf(response.statusCode());
+        }
+
+        @Override
+        @NonNull
+        public String getStatusText() {
+            HttpStatus status = HttpStatus.resolve(response.statusCode());
+            return status != null ? status.getReasonPhrase() : "";
+        }
+
+        @Override
+        @NonNull
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        @NonNull
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = gzipped ? gunzip(response.body()) : response.body();
+            }
+            return body;
+        }
+
+        private static InputStream gunzip(InputStream compressed) throws IOException {
+            PushbackInputStream stream = new PushbackInputStream(compressed);
+            int first = stream.read();
+            if (first == -1) {
+                return InputStream.nullInputStream();
+            }
+            stream.unread(first);
+            return new GZIPInputStream(stream);
+        }
+
+        @Override
+        public void close() {
+            try {
+                getBody().close();
+            } catch (IOException ignored) {
+                // соединение возвращается в пул HttpClient независимо от результата закрытия
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+public class RequestCoalescer {
+
+    private final boolean enabled;
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<Object>>> inFlightRequests =
+            new ConcurrentHashMap<>();
+    private final Counter leaderCounter;
+    private final Counter mergedCounter;
+
+    public RequestCoalescer(@Value("${shareit-server.coalescing.enabled}") boolean enabled,
+                            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.leaderCounter = Counter.builder("shareit.gateway.coalescing.requests")
+                .description("GET-запросы к серверу, объединённые с идентичным запросом в полёте")
+                .tag("role", "leader")
+                .register(registry);
+        this.mergedCounter = Counter.builder("shareit.gateway.coalescing.requests")
+                .description("GET-запросы к серверу, объединённые с идентичным запросом в полёте")
+                .tag("role", "merged")
+                .register(registry);
+    }
+
+    public ResponseEntity<Object> execute(String key, Supplier<ResponseEntity<Object>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        CompletableFuture<ResponseEntity<Object>> future = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> inFlight = inFlightRequests.putIfAbsent(key, future);
+        if (inFlight != null) {
+            mergedCounter.increment();
+            return join(inFlight);
+        }
+        leaderCounter.increment();
+        try {
+            ResponseEntity<Object> response = loader.get();
+            future.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(key, future);
+        }
+    }
+
+    private static ResponseEntity<Object> join(CompletableFuture<ResponseEntity<Object>> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+public class ResponseCache {
+
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String BOOKINGS = "bookings";
+    public static final String REQUESTS = "requests";
+
+    private static final Set<String> REGIONS = Set.of(USERS, ITEMS, BOOKINGS, REQUESTS);
+    private static final int GENERATION_STRIPES = 64;
+
+    private final boolean enabled;
+    private final Map<String, Region> regions = new HashMap<>();
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        for (String name : REGIONS) {
+            Region region = new Region(properties);
+            if (enabled) {
+                CaffeineCacheMetrics.monitor(registry, region.cache, "gateway." + name);
+            }
+            regions.put(name, region);
+        }
+    }
+
+    public ResponseEntity<Object> get(String region, String resource, String key,
+                                      Supplier<ResponseEntity<Object>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return regions.get(region).get(resource, key, loader);
+    }
+
+    public void evict(String region, String... resources) {
+        if (!enabled) {
+            return;
+        }
+        for (String resource : resources) {
+            regions.get(region).evict(resource);
+        }
+    }
+
+    public void invalidate(String region) {
+        if (!enabled) {
+            return;
+        }
+        regions.get(region).invalidate();
+    }
+
+    private static final class Region {
+
+        private final Cache<String, ResponseEntity<Object>> cache;
+        // Ключи записей по ресурсам, чтобы сброс ресурса не перебирал весь регион
+        private final ConcurrentMap<String, Set<String>> keysByResource = new ConcurrentHashMap<>();
+        // Поколения ресурсов по полосам: загрузка, пересёкшаяся со сбросом своего ресурса, не попадает в кэш
+        private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+        private Region(ResponseCacheProperties properties) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaxSize())
+                    .expireAfterWrite(properties.getTtl())
+                    .executor(Runnable::run)
+                    .removalListener((String cacheKey, ResponseEntity<Object> response, RemovalCause cause) ->
+                            unindex(cacheKey))
+                    .recordStats()
+                    .build();
+        }
+
+        private ResponseEntity<Object> get(String resource, String key, Supplier<ResponseEntity<Object>> loader) {
+            String cacheKey = resource + " " + key;
+            ResponseEntity<Object> cached = cache.getIfPresent(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+            int stripe = stripe(resource);
+            long generation = generations.get(stripe);
+            ResponseEntity<Object> response = loader.get();
+            if (response.getStatusCode().is2xxSuccessful()) {
+                cache.put(cacheKey, response);
+                keysByResource.compute(resource, (r, keys) -> {
+                    Set<String> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                    indexed.add(cacheKey);
+                    return indexed;
+                });
+                if (generation != generations.get(stripe)) {
+                    cache.invalidate(cacheKey);
+                }
+            }
+            return response;
+        }
+
+        private void evict(String resource) {
+            generations.incrementAndGet(stripe(resource));
+            Set<String> keys = keysByResource.remove(resource);
+            if (keys != null) {
+                cache.invalidateAll(keys);
+            }
+        }
+
+        private void invalidate() {
+            for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+                generations.incrementAndGet(stripe);
+            }
+            keysByResource.clear();
+            cache.invalidateAll();
+        }
+
+        private void unindex(String cacheKey) {
+            String resource = cacheKey.substring(0, cacheKey.indexOf(' '));
+            keysByResource.computeIfPresent(resource, (r, keys) -> {
+                if (!cache.asMap().containsKey(cacheKey)) {
+                    keys.remove(cacheKey);
+                }
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+
+        private static int stripe(String resource) {
+            return Math.floorMod(resource.hashCode(), GENERATION_STRIPES);
+        }
+
+    }
+
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = false;
+    private Duration ttl = Duration.ofSeconds(5);
+    private long maxSize = 10_000;
+
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RetryBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    public RetryBudget(double retryRatio, int maxRetries) {
+        this.depositPerRequest = Math.round(retryRatio * TOKEN);
+        this.maxBalance = maxRetries * TOKEN;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public void deposit() {
+        balance.getAndUpdate(current -> Math.min(maxBalance, current + depositPerRequest));
+    }
+
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    public double getBalance() {
+        return (double) balance.get() / TOKEN;
+    }
+
+}
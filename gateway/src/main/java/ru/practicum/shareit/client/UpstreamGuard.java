@@ -0,0 +1,88 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.limit.AimdLimiter;
+
+import java.util.function.Supplier;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+public class UpstreamGuard {
+
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryRegistry retryRegistry;
+    private final RetryBudget retryBudget;
+    private final RetryConfig retryConfig;
+    private final AimdLimiter limiter;
+
+    public UpstreamGuard(BulkheadRegistry bulkheadRegistry,
+                         CircuitBreakerRegistry circuitBreakerRegistry,
+                         RetryRegistry retryRegistry,
+                         MeterRegistry meterRegistry,
+                         ObjectProvider<AimdLimiter> limiter,
+                         @Value("${shareit-server.retry-budget.ratio}") double retryRatio,
+                         @Value("${shareit-server.retry-budget.max-retries}") int maxRetries) {
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.retryRegistry = retryRegistry;
+        this.limiter = limiter.getIfAvailable();
+        this.retryBudget = new RetryBudget(retryRatio, maxRetries);
+        this.retryConfig = RetryConfig.from(retryRegistry.getDefaultConfig())
+                .retryOnException(e -> e instanceof ResourceAccessException && retryBudget.tryWithdraw())
+                .build();
+        Gauge.builder("shareit.gateway.retry.budget", retryBudget, RetryBudget::getBalance)
+                .description("Доступный запас повторных запросов к серверу")
+                .register(meterRegistry);
+    }
+
+    public ResponseEntity<Object> execute(String route, HttpMethod method, Supplier<ResponseEntity<Object>> call) {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(route);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(route);
+        Supplier<ResponseEntity<Object>> guarded =
+                CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, timed(call)));
+        retryBudget.deposit();
+        if (method != HttpMethod.GET) {
+            return guarded.get();
+        }
+        Retry retry = retryRegistry.retry(route, retryConfig);
+        return Retry.decorateSupplier(retry, guarded).get();
+    }
+
+    // Лимитер получает только время ответа сервера: кэш, склеенные запросы и отказы шлюза его не искажают
+    private Supplier<ResponseEntity<Object>> timed(Supplier<ResponseEntity<Object>> call) {
+        if (limiter == null) {
+            return call;
+        }
+        return () -> {
+            long started = System.nanoTime();
+            try {
+                ResponseEntity<Object> response = call.get();
+                limiter.onSample(System.nanoTime() - started);
+                return response;
+            } catch (HttpStatusCodeException e) {
+                limiter.onSample(System.nanoTime() - started);
+                throw e;
+            }
+        };
+    }
+
+}
@@ -2,45 +2,85 @@ package ru.practicum.shareit.item.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.UpstreamGuard;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
 
 @Service
+@ConditionalOnWebApplication(type = SERVLET)
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
+    private static final String SEARCH = "search";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      @Value("${shareit-server.passthrough}") boolean passthrough,
+                      ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer,
+                      UpstreamGuard upstreamGuard) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                responseCache,
+                ResponseCache.ITEMS,
+                requestCoalescer,
+                upstreamGuard
         );
     }
 
+    public static String itemResource(Long itemId) {
+        return "item:" + itemId;
+    }
+
     public ResponseEntity<Object> addNewItem(long userId, ItemDto itemDto) {
-        return post("", userId, itemDto);
+        ResponseEntity<Object> response = evictOnSuccess(post("", userId, itemDto), ResponseCache.ITEMS, SEARCH);
+        if (itemDto.getRequestId() != 0) {
+            // Вещь появляется в карточке запроса и в списках запросов его автора и остальных пользователей
+            invalidateOnSuccess(response, ResponseCache.REQUESTS);
+        }
+        return response;
     }
 
     public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+        // Шлюз не знает, к какому запросу относится вещь, поэтому кеш запросов сбрасывается целиком
+        return invalidateOnSuccess(
+                evictOnSuccess(patch("/" + itemId, userId, itemDto), ResponseCache.ITEMS, itemResource(itemId), SEARCH),
+                ResponseCache.REQUESTS);
     }
 
     public ResponseEntity<Object> getItem(long userId, long itemId) {
-        return get("/" + itemId, userId);
+        return getCached(itemResource(itemId), "/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getOwnerItems(long userId, Integer from, Integer size) {
+    public ResponseEntity<Object> getOwnerItems(long userId, Integer from, Integer size, @Nullable String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "size", size,
+                    "cursor", cursor
+            );
+            return get("?size={size}&cursor={cursor}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -48,17 +88,41 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> search(long userId, String text, Integer from, Integer size) {
+    public ResponseEntity<Object> search(long userId, String text, Integer from, Integer size, @Nullable String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "size", size,
+                    "cursor", cursor
+            );
+            return getCached(SEARCH, "/search?text={text}&size={size}&cursor={cursor}", userId, parameters, false);
+        }
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return getCached(SEARCH, "/search?text={text}&from={from}&size={size}", userId, parameters, false);
+    }
+
+    public ResponseEntity<Object> getAvailability(long userId, long itemId, @Nullable String from, @Nullable String to) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (from != null) {
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            parameters.put("to", to);
+        }
+        String query = parameters.keySet().stream()
+                .map(name -> name + "={" + name + "}")
+                .collect(Collectors.joining("&", "?", ""));
+        return getCached(itemResource(itemId), "/" + itemId + "/availability" + (parameters.isEmpty() ? "" : query),
+                userId, parameters, true);
     }
 
     public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+        return evictOnSuccess(post("/" + itemId + "/comment", userId, commentDto), ResponseCache.ITEMS,
+                itemResource(itemId));
     }
 
 }
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -14,8 +15,11 @@ import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = SERVLET)
 @Validated
 @RequiredArgsConstructor
 @RequestMapping("/items")
@@ -49,19 +53,32 @@ public class ItemController {
     @GetMapping
     public ResponseEntity<Object> getAll(@RequestHeader("X-Sharer-User-Id") long userId,
                                          @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                         @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Received GET-request at /items?from={}&size={} endpoint from user id={}", from, size, userId);
-        return itemClient.getOwnerItems(userId, from, size);
+                                         @Positive @RequestParam(defaultValue = "10") Integer size,
+                                         @RequestParam(required = false) String cursor) {
+        log.info("Received GET-request at /items?from={}&size={}&cursor={} endpoint from user id={}",
+                from, size, cursor, userId);
+        return itemClient.getOwnerItems(userId, from, size, cursor);
     }
 
     @GetMapping("/search")
     public ResponseEntity<Object> search(@RequestHeader("X-Sharer-User-Id") long userId,
                                          @RequestParam String text,
                                          @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                         @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Received GET-request at /items/search?text={}&from={}&size={} endpoint from user id={}",
-                text, from, size, userId);
-        return itemClient.search(userId, text, from, size);
+                                         @Positive @RequestParam(defaultValue = "10") Integer size,
+                                         @RequestParam(required = false) String cursor) {
+        log.info("Received GET-request at /items/search?text={}&from={}&size={}&cursor={} endpoint from user id={}",
+                text, from, size, cursor, userId);
+        return itemClient.search(userId, text, from, size, cursor);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                  @PathVariable long itemId,
+                                                  @RequestParam(required = false) String from,
+                                                  @RequestParam(required = false) String to) {
+        log.info("Received GET-request at /items/{}/availability?from={}&to={} endpoint from user id={}",
+                itemId, from, to, userId);
+        return itemClient.getAvailability(userId, itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
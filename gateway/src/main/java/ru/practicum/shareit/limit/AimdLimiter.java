@@ -0,0 +1,91 @@
+package ru.practicum.shareit.limit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+@ConditionalOnProperty(name = "shareit.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double writeReserve;
+    private final double latencyTolerance;
+    private final double baselineSmoothing;
+    private final long minLatencyThresholdNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private long baselineNanos;
+
+    public AimdLimiter(ConcurrencyLimitProperties properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.writeReserve = properties.getWriteReserve();
+        this.latencyTolerance = properties.getLatencyTolerance();
+        this.baselineSmoothing = properties.getBaselineSmoothing();
+        this.minLatencyThresholdNanos = properties.getMinLatencyThreshold().toNanos();
+        this.limit = properties.getInitialLimit();
+    }
+
+    public boolean tryAcquire(boolean write) {
+        int currentLimit = write ? limit : (int) Math.max(1, limit * (1 - writeReserve));
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= currentLimit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release(boolean dropped) {
+        inFlight.decrementAndGet();
+        if (dropped) {
+            onDrop();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized long getBaselineNanos() {
+        return baselineNanos;
+    }
+
+    private synchronized void onDrop() {
+        limit = Math.max(minLimit, (int) (limit * backoffRatio));
+    }
+
+    public synchronized void onSample(long latencyNanos) {
+        long threshold = Math.max(minLatencyThresholdNanos, (long) (baselineNanos * latencyTolerance));
+        boolean congested = baselineNanos > 0 && latencyNanos > threshold;
+        // База сглаживается в обе стороны, чтобы единичный быстрый ответ не занижал порог
+        if (baselineNanos == 0) {
+            baselineNanos = latencyNanos;
+        } else {
+            baselineNanos += (long) ((latencyNanos - baselineNanos) * baselineSmoothing);
+        }
+        if (congested) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inFlight.get() * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+@ConditionalOnProperty(name = "shareit.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+@Order(RateLimitFilter.ORDER + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AimdLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final int retryAfterSeconds;
+    private final Counter rejectedReads;
+    private final Counter rejectedWrites;
+
+    public ConcurrencyLimitFilter(AimdLimiter limiter, ConcurrencyLimitProperties properties,
+                                  ObjectMapper objectMapper, MeterRegistry registry) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+        Gauge.builder("shareit.gateway.concurrency.limit", limiter, AimdLimiter::getLimit)
+                .description("Текущий адаптивный лимит одновременных запросов")
+                .register(registry);
+        Gauge.builder("shareit.gateway.concurrency.in-flight", limiter, AimdLimiter::getInFlight)
+                .description("Количество запросов в обработке")
+                .register(registry);
+        this.rejectedReads = Counter.builder("shareit.gateway.concurrency.rejected")
+                .description("Запросы, отклонённые из-за превышения лимита")
+                .tag("priority", "read")
+                .register(registry);
+        this.rejectedWrites = Counter.builder("shareit.gateway.concurrency.rejected")
+                .description("Запросы, отклонённые из-за превышения лимита")
+                .tag("priority", "write")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = !HttpMethod.GET.matches(request.getMethod());
+        if (!limiter.tryAcquire(write)) {
+            (write ? rejectedWrites : rejectedReads).increment();
+            log.warn("Request {} {} rejected: concurrency limit {} reached", request.getMethod(),
+                    request.getRequestURI(), limiter.getLimit());
+            reject(response);
+            return;
+        }
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+        } finally {
+            limiter.release(dropped);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("Too many concurrent requests"));
+    }
+
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.limit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+    private int initialLimit = 50;
+    private int minLimit = 5;
+    private int maxLimit = 500;
+    private double backoffRatio = 0.9;
+    private double latencyTolerance = 2.0;
+    private double baselineSmoothing = 0.05;
+    private Duration minLatencyThreshold = Duration.ofMillis(20);
+    private double writeReserve = 0.2;
+    private int retryAfterSeconds = 1;
+
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class LocalRateLimiterBackend implements RateLimiterBackend {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final Ticker ticker;
+
+    public LocalRateLimiterBackend(RateLimitProperties properties, MeterRegistry registry) {
+        this(properties, registry, Ticker.systemTicker());
+    }
+
+    LocalRateLimiterBackend(RateLimitProperties properties, MeterRegistry registry, Ticker ticker) {
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .ticker(ticker)
+                .build();
+        Gauge.builder("shareit.gateway.rate-limit.buckets", buckets, Cache::estimatedSize)
+                .description("Количество активных корзин токенов")
+                .register(registry);
+    }
+
+    @Override
+    public boolean tryConsume(String key, RateLimitProperties.Limit limit) {
+        return buckets.get(key, k -> new TokenBucket(limit, ticker::read)).tryConsume();
+    }
+
+}
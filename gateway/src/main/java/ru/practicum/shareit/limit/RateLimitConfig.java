@@ -0,0 +1,46 @@
+package ru.practicum.shareit.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+@Configuration
+@ConditionalOnWebApplication(type = SERVLET)
+@ConditionalOnProperty(name = "shareit.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RateLimiterBackend rateLimiterBackend(RateLimitProperties properties, MeterRegistry registry) {
+        return new LocalRateLimiterBackend(properties, registry);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimiterBackend backend, RateLimitProperties properties,
+                                           ObjectMapper objectMapper, MeterRegistry registry) {
+        validate(properties);
+        return new RateLimitFilter(backend, properties, objectMapper, registry);
+    }
+
+    static void validate(RateLimitProperties properties) {
+        properties.getLimits().forEach((endpointClass, limit) -> {
+            if (limit.getCapacity() < 1) {
+                throw new IllegalStateException("shareit.rate-limit.limits." + endpointClass +
+                        ".capacity must be at least 1, got " + limit.getCapacity());
+            }
+            if (!(limit.getRefillPerSecond() > 0)) {
+                throw new IllegalStateException("shareit.rate-limit.limits." + endpointClass +
+                        ".refill-per-second must be positive, got " + limit.getRefillPerSecond());
+            }
+        });
+    }
+
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter implements Ordered {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String SEARCH_CLASS = "search";
+    private static final String BOOKINGS_CLASS = "bookings";
+
+    private final RateLimiterBackend backend;
+    private final Map<String, RateLimitProperties.Limit> limits;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Counter> rejected = new HashMap<>();
+
+    public RateLimitFilter(RateLimiterBackend backend, RateLimitProperties properties, ObjectMapper objectMapper,
+                           MeterRegistry registry) {
+        this.backend = backend;
+        this.limits = properties.getLimits();
+        this.objectMapper = objectMapper;
+        for (String endpointClass : List.of(SEARCH_CLASS, BOOKINGS_CLASS, RateLimitProperties.DEFAULT_CLASS)) {
+            rejected.put(endpointClass, Counter.builder("shareit.gateway.rate-limit.rejected")
+                    .description("Запросы, отклонённые ограничением частоты для пользователя")
+                    .tag("endpoint", endpointClass)
+                    .register(registry));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String endpointClass = getEndpointClass(request.getRequestURI());
+        RateLimitProperties.Limit limit = limits.getOrDefault(endpointClass,
+                limits.get(RateLimitProperties.DEFAULT_CLASS));
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String client = getClient(request);
+        if (backend.tryConsume(client + ":" + endpointClass, limit)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        rejected.get(endpointClass).increment();
+        log.warn("Request {} {} from {} rejected: rate limit for '{}' exceeded", request.getMethod(),
+                request.getRequestURI(), client, endpointClass);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf((long) Math.ceil(1 / limit.getRefillPerSecond())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("Too many requests"));
+    }
+
+    // Запросы без идентификатора пользователя ограничиваются по адресу клиента
+    private String getClient(HttpServletRequest request) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        return userId != null ? "user " + userId : "address " + request.getRemoteAddr();
+    }
+
+    private String getEndpointClass(String uri) {
+        if (uri.startsWith("/items/search")) {
+            return SEARCH_CLASS;
+        }
+        if (uri.startsWith("/bookings")) {
+            return BOOKINGS_CLASS;
+        }
+        return RateLimitProperties.DEFAULT_CLASS;
+    }
+
+}
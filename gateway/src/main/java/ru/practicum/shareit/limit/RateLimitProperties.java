@@ -0,0 +1,29 @@
+package ru.practicum.shareit.limit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+
+    public static final String DEFAULT_CLASS = "default";
+
+    private boolean enabled = true;
+    private Duration idleExpiry = Duration.ofMinutes(10);
+    private long maxBuckets = 100_000;
+    private Map<String, Limit> limits = new HashMap<>();
+
+    @Data
+    public static class Limit {
+
+        private long capacity;
+        private double refillPerSecond;
+
+    }
+
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.limit;
+
+public interface RateLimiterBackend {
+
+    boolean tryConsume(String key, RateLimitProperties.Limit limit);
+
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.limit;
+
+import lombok.AllArgsConstructor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+public class TokenBucket {
+
+    private final long capacity;
+    private final double refillPerNano;
+    private final LongSupplier nanoClock;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(RateLimitProperties.Limit limit) {
+        this(limit, System::nanoTime);
+    }
+
+    TokenBucket(RateLimitProperties.Limit limit, LongSupplier nanoClock) {
+        this.capacity = limit.getCapacity();
+        this.refillPerNano = limit.getRefillPerSecond() / TimeUnit.SECONDS.toNanos(1);
+        this.nanoClock = nanoClock;
+        this.state = new AtomicReference<>(new State(capacity, nanoClock.getAsLong()));
+    }
+
+    public boolean tryConsume() {
+        while (true) {
+            State current = state.get();
+            long now = nanoClock.getAsLong();
+            double tokens = Math.min(capacity, current.tokens + (now - current.timestamp) * refillPerNano);
+            if (tokens < 1) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                return true;
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static class State {
+
+        private final double tokens;
+        private final long timestamp;
+
+    }
+
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.proxy;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.booking.dto.BookingFromUserDto;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+
+@Configuration
+@ConditionalOnWebApplication(type = REACTIVE)
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class ReactiveGatewayConfig {
+
+    @Bean
+    public WebClient shareItServerWebClient(@Value("${shareit-server.url}") String serverUrl,
+                                            WebClient.Builder builder,
+                                            HttpClientProperties properties) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getKeepAlive())
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .compress(true);
+        if (properties.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return builder
+                .baseUrl(serverUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> gatewayRoutes(ReactiveProxyHandler handler) {
+        return RouterFunctions.route()
+                .GET("/users", handler::forward)
+                .GET("/users/{id}", handler::forward)
+                .POST("/users", request -> handler.forwardBody(request, UserDto.class))
+                .PATCH("/users/{id}", request -> handler.forwardBody(request, UserDto.class))
+                .DELETE("/users/{id}", handler::forward)
+                .POST("/items", request -> handler.forwardBody(request, ItemDto.class))
+                .GET("/items", handler::forwardPage)
+                .GET("/items/search", handler::forwardPage)
+                .GET("/items/{itemId}", handler::forward)
+                .PATCH("/items/{itemId}", request -> handler.forwardBody(request, ItemDto.class))
+                .GET("/items/{itemId}/availability", handler::forwardAvailability)
+                .POST("/items/{itemId}/comment", request -> handler.forwardBody(request, CommentDto.class))
+                .POST("/bookings", request -> handler.forwardBody(request, BookingFromUserDto.class))
+                .GET("/bookings", handler::forwardPage)
+                .GET("/bookings/owner", handler::forwardPage)
+                .GET("/bookings/{bookingId}", handler::forward)
+                .PATCH("/bookings/{bookingId}", handler::forwardApproval)
+                .POST("/requests", request -> handler.forwardBody(request, ItemRequestShortDto.class))
+                .GET("/requests", handler::forward)
+                .GET("/requests/all", handler::forwardPage)
+                .GET("/requests/{requestId}", handler::forward)
+                .onError(Throwable.class, handler::handleError)
+                .build();
+    }
+
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit.proxy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.enums.BookingState;
+import ru.practicum.shareit.exception.ErrorResponse;
+import ru.practicum.shareit.exception.ValidationException;
+
+import javax.validation.Validator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveProxyHandler {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final Set<String> SKIPPED_RESPONSE_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase()
+    );
+
+    private final WebClient shareItServerWebClient;
+    private final Validator validator;
+
+    public Mono<ServerResponse> forward(ServerRequest request) {
+        return Mono.defer(() -> exchange(request, new LinkedHashMap<>(), null));
+    }
+
+    public Mono<ServerResponse> forwardApproval(ServerRequest request) {
+        return Mono.defer(() -> {
+            Map<String, Object> parameters = new LinkedHashMap<>();
+            parameters.put("approved", getRequiredParam(request, "approved"));
+            return exchange(request, parameters, null);
+        });
+    }
+
+    public Mono<ServerResponse> forwardPage(ServerRequest request) {
+        return Mono.defer(() -> exchange(request, getPageParameters(request), null));
+    }
+
+    public Mono<ServerResponse> forwardAvailability(ServerRequest request) {
+        return Mono.defer(() -> {
+            Map<String, Object> parameters = new LinkedHashMap<>();
+            request.queryParam("from").ifPresent(from -> parameters.put("from", from));
+            request.queryParam("to").ifPresent(to -> parameters.put("to", to));
+            return exchange(request, parameters, null);
+        });
+    }
+
+    public <T> Mono<ServerResponse> forwardBody(ServerRequest request, Class<T> bodyType) {
+        return request.bodyToMono(bodyType)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Required request body is missing")))
+                .doOnNext(body -> {
+                    if (!validator.validate(body).isEmpty()) {
+                        log.info("Request body {} failed validation", body);
+                        throw new ValidationException();
+                    }
+                })
+                .flatMap(body -> exchange(request, new LinkedHashMap<>(), body));
+    }
+
+    public Mono<ServerResponse> handleError(Throwable e, ServerRequest request) {
+        HttpStatus status = e instanceof ValidationException ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR;
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(e.getMessage()));
+    }
+
+    private Map<String, Object> getPageParameters(ServerRequest request) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (request.path().startsWith("/bookings")) {
+            String stateParam = request.queryParam("state").orElse("ALL");
+            BookingState state = BookingState.from(stateParam)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+            parameters.put("state", state.name());
+        }
+        if (request.path().equals("/items/search")) {
+            parameters.put("text", getRequiredParam(request, "text"));
+        }
+        int from = getIntParam(request, "from", 0);
+        int size = getIntParam(request, "size", 10);
+        if (from < 0) {
+            throw new IllegalArgumentException("from: must be greater than or equal to 0");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("size: must be greater than 0");
+        }
+        Optional<String> cursor = request.queryParam("cursor");
+        if (cursor.isPresent()) {
+            parameters.put("size", size);
+            parameters.put("cursor", cursor.get());
+        } else {
+            parameters.put("from", from);
+            parameters.put("size", size);
+        }
+        return parameters;
+    }
+
+    private Mono<ServerResponse> exchange(ServerRequest request, Map<String, Object> parameters,
+                                          @Nullable Object body) {
+        HttpMethod method = request.method();
+        Long userId = getUserId(request);
+        request.pathVariables().values().forEach(Long::parseLong);
+        log.info("Received {}-request at {} endpoint from user id={}", method, request.path(), userId);
+
+        WebClient.RequestBodySpec spec = shareItServerWebClient.method(method)
+                .uri(uriBuilder -> {
+                    uriBuilder.path(request.path());
+                    parameters.keySet().forEach(name -> uriBuilder.queryParam(name, "{" + name + "}"));
+                    return uriBuilder.build(parameters);
+                })
+                .headers(headers -> {
+                    headers.setContentType(MediaType.APPLICATION_JSON);
+                    headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+                    if (userId != null) {
+                        headers.set(USER_ID_HEADER, String.valueOf(userId));
+                    }
+                });
+        WebClient.RequestHeadersSpec<?> headersSpec = body != null ? spec.bodyValue(body) : spec;
+        return headersSpec.exchangeToMono(response -> response.bodyToMono(byte[].class)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(responseBody -> {
+                    ServerResponse.BodyBuilder builder = ServerResponse.status(response.rawStatusCode())
+                            .headers(headers -> response.headers().asHttpHeaders().forEach((name, values) -> {
+                                if (!SKIPPED_RESPONSE_HEADERS.contains(name.toLowerCase())) {
+                                    headers.addAll(name, values);
+                                }
+                            }));
+                    return responseBody.map(builder::bodyValue).orElseGet(builder::build);
+                }));
+    }
+
+    @Nullable
+    private Long getUserId(ServerRequest request) {
+        if (request.path().startsWith("/users")) {
+            return null;
+        }
+        String userId = request.headers().firstHeader(USER_ID_HEADER);
+        if (userId == null) {
+            throw new IllegalStateException("Required request header '" + USER_ID_HEADER + "' is not present");
+        }
+        return Long.parseLong(userId);
+    }
+
+    private String getRequiredParam(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .orElseThrow(() -> new IllegalStateException("Required request parameter '" + name + "' is not present"));
+    }
+
+    private int getIntParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name)
+                .map(Integer::parseInt)
+                .orElse(defaultValue);
+    }
+
+}
@@ -2,49 +2,84 @@ package ru.practicum.shareit.request.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.UpstreamGuard;
 import ru.practicum.shareit.request.dto.ItemRequestShortDto;
 
 import java.util.Map;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
 @Service
+@ConditionalOnWebApplication(type = SERVLET)
 public class ItemRequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
+    private static final String OTHER_USERS_REQUESTS = "all";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory,
+                             @Value("${shareit-server.passthrough}") boolean passthrough,
+                             ResponseCache responseCache,
+                             RequestCoalescer requestCoalescer,
+                             UpstreamGuard upstreamGuard) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                responseCache,
+                ResponseCache.REQUESTS,
+                requestCoalescer,
+                upstreamGuard
         );
     }
 
     public ResponseEntity<Object> create(long userId, ItemRequestShortDto itemRequestShortDto) {
-        return post("", userId, itemRequestShortDto);
+        return evictOnSuccess(post("", userId, itemRequestShortDto), ResponseCache.REQUESTS,
+                requestorResource(userId), OTHER_USERS_REQUESTS);
     }
 
     public ResponseEntity<Object> getAll(long userId) {
-        return get("", userId);
+        return getCached(requestorResource(userId), "", userId);
     }
 
     public ResponseEntity<Object> getItemRequest(long userId, long requestId) {
-        return get("/" + requestId, userId);
+        return getCached(requestResource(requestId), "/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> search(long userId, Integer from, Integer size) {
+    public ResponseEntity<Object> search(long userId, Integer from, Integer size, @Nullable String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "size", size,
+                    "cursor", cursor
+            );
+            return getCached(OTHER_USERS_REQUESTS, "/all?size={size}&cursor={cursor}", userId, parameters, true);
+        }
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return getCached(OTHER_USERS_REQUESTS, "/all?from={from}&size={size}", userId, parameters, true);
+    }
+
+    private static String requestorResource(long userId) {
+        return "requestor:" + userId;
+    }
+
+    private static String requestResource(long requestId) {
+        return "request:" + requestId;
     }
 
 }
\ No newline at end of file
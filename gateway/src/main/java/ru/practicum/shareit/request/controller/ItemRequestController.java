@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -13,8 +14,11 @@ import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = SERVLET)
 @Validated
 @RequiredArgsConstructor
 @RequestMapping("/requests")
@@ -46,9 +50,11 @@ public class ItemRequestController {
     @GetMapping("/all")
     public ResponseEntity<Object> search(@RequestHeader("X-Sharer-User-Id") long userId,
                                          @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                         @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Received GET-request at /requests/all?from={}&size={} endpoint from user id={}", from, size, userId);
-        return itemRequestClient.search(userId, from, size);
+                                         @Positive @RequestParam(defaultValue = "10") Integer size,
+                                         @RequestParam(required = false) String cursor) {
+        log.info("Received GET-request at /requests/all?from={}&size={}&cursor={} endpoint from user id={}",
+                from, size, cursor, userId);
+        return itemRequestClient.search(userId, from, size, cursor);
     }
 
 }
\ No newline at end of file
@@ -2,47 +2,74 @@ package ru.practicum.shareit.user.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.UpstreamGuard;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
 @Service
+@ConditionalOnWebApplication(type = SERVLET)
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
+    private static final String ALL_USERS = "users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      @Value("${shareit-server.passthrough}") boolean passthrough,
+                      ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer,
+                      UpstreamGuard upstreamGuard) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                responseCache,
+                ResponseCache.USERS,
+                requestCoalescer,
+                upstreamGuard
         );
     }
 
     public ResponseEntity<Object> getAll() {
-        return get("");
+        return getCached(ALL_USERS, "");
     }
 
     public ResponseEntity<Object> getUser(long userId) {
-        return get("/" + userId);
+        return getCached(userResource(userId), "/" + userId);
     }
 
     public ResponseEntity<Object> create(UserDto userDto) {
-        return post("", userDto);
+        return evictOnSuccess(post("", userDto), ResponseCache.USERS, ALL_USERS);
     }
 
     public ResponseEntity<Object> update(long userId, UserDto userDto) {
-        return patch("/" + userId, userDto);
+        // Имя пользователя попадает в комментарии карточек вещей
+        return invalidateOnSuccess(
+                evictOnSuccess(patch("/" + userId, userDto), ResponseCache.USERS, ALL_USERS, userResource(userId)),
+                ResponseCache.ITEMS);
     }
 
     public ResponseEntity<Object> deleteUser(long userId) {
-        return delete("/" + userId);
+        return invalidateOnSuccess(
+                evictOnSuccess(delete("/" + userId), ResponseCache.USERS, ALL_USERS, userResource(userId)),
+                ResponseCache.ITEMS, ResponseCache.REQUESTS);
+    }
+
+    private static String userResource(long userId) {
+        return "user:" + userId;
     }
 
 }
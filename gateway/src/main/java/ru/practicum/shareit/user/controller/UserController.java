@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -11,8 +12,11 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = SERVLET)
 @Validated
 @RequiredArgsConstructor
 @RequestMapping("/users")
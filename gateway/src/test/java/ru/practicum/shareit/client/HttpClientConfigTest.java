@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HTTP;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientConfigTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withUserConfiguration(HttpClientConfig.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void http11ModeUsesApachePool() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(InstrumentedConnectionManager.class);
+            assertThat(context).hasSingleBean(CloseableHttpClient.class);
+            assertThat(context.getBean(ClientHttpRequestFactory.class))
+                    .isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+            assertThat(context.getBean(MeterRegistry.class).find("httpcomponents.httpclient.pool.total.max").gauge())
+                    .isNotNull();
+        });
+    }
+
+    @Test
+    void keepAliveDefaultsToConfiguredValue() {
+        ConnectionKeepAliveStrategy strategy = HttpClientConfig.keepAliveStrategy(Duration.ofSeconds(30));
+
+        assertThat(strategy.getKeepAliveDuration(response(null), new BasicHttpContext())).isEqualTo(30_000);
+    }
+
+    @Test
+    void keepAliveHonoursShorterServerTimeout() {
+        ConnectionKeepAliveStrategy strategy = HttpClientConfig.keepAliveStrategy(Duration.ofSeconds(30));
+
+        assertThat(strategy.getKeepAliveDuration(response("timeout=5"), new BasicHttpContext())).isEqualTo(5_000);
+        assertThat(strategy.getKeepAliveDuration(response("timeout=120"), new BasicHttpContext())).isEqualTo(30_000);
+    }
+
+    @Test
+    void http2ModeSkipsApachePool() {
+        contextRunner.withPropertyValues("shareit-server.http-client.http2=true").run(context -> {
+            assertThat(context).doesNotHaveBean(InstrumentedConnectionManager.class);
+            assertThat(context).doesNotHaveBean(CloseableHttpClient.class);
+            assertThat(context.getBean(ClientHttpRequestFactory.class))
+                    .isInstanceOf(JdkClientHttpRequestFactory.class);
+            assertThat(context.getBean(MeterRegistry.class).find("httpcomponents.httpclient.pool.total.max").gauge())
+                    .isNull();
+        });
+    }
+
+    private static HttpResponse response(String keepAlive) {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        if (keepAlive != null) {
+            response.setHeader(HTTP.CONN_KEEP_ALIVE, keepAlive);
+        }
+        return response;
+    }
+
+}
@@ -0,0 +1,296 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdkClientHttpRequestFactoryTest {
+
+    private static final String JSON = "{\"id\":1,\"name\":\"drill\"}";
+
+    private HttpServer server;
+    private RestTemplate restTemplate;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/gzip", exchange -> {
+            assertThat(exchange.getRequestHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING)).isEqualTo("gzip");
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            send(exchange, 200, gzip(JSON));
+        });
+        server.createContext("/empty-gzip", exchange -> {
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.createContext("/echo", exchange -> {
+            String userId = exchange.getRequestHeaders().getFirst("X-Sharer-User-Id");
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("X-Echo-User-Id", userId);
+            send(exchange, 200, body);
+        });
+        server.createContext("/missing", exchange ->
+                send(exchange, 404, "{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/boom", exchange -> {
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            send(exchange, 500, gzip("{\"error\":\"boom\"}"));
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        restTemplate = new RestTemplate(new JdkClientHttpRequestFactory(httpClient, Duration.ofSeconds(5)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void decodesGzipBodyAndDropsEncodingHeaders() {
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/gzip", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(JSON);
+        assertThat(response.getHeaders()).doesNotContainKeys(HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LENGTH);
+    }
+
+    @Test
+    void toleratesEmptyGzipBody() {
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/empty-gzip", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void forwardsHeadersAndBody() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "42");
+        headers.set(HttpHeaders.CONNECTION, "close");
+
+        ResponseEntity<String> response = restTemplate.exchange(baseUrl + "/echo", HttpMethod.POST,
+                new HttpEntity<>(JSON, headers), String.class);
+
+        assertThat(response.getHeaders().getFirst("X-Echo-User-Id")).isEqualTo("42");
+        assertThat(response.getBody()).isEqualTo(JSON);
+    }
+
+    @Test
+    void surfacesClientErrorsWithBody() {
+        assertThatThrownBy(() -> restTemplate.getForEntity(baseUrl + "/missing", String.class))
+                .isInstanceOfSatisfying(HttpClientErrorException.NotFound.class, e ->
+                        assertThat(e.getResponseBodyAsString()).isEqualTo("{\"error\":\"not found\"}"));
+    }
+
+    @Test
+    void surfacesServerErrorsWithDecodedBody() {
+        assertThatThrownBy(() -> restTemplate.getForEntity(baseUrl + "/boom", String.class))
+                .isInstanceOfSatisfying(HttpServerErrorException.InternalServerError.class, e ->
+                        assertThat(e.getResponseBodyAsString()).isEqualTo("{\"error\":\"boom\"}"));
+    }
+
+    @Test
+    void stripsHttp2PseudoHeaders() throws IOException {
+        Map<String, List<String>> headers = Map.of(
+                ":status", List.of("200"),
+                "content-type", List.of("application/json"));
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(
+                new StubHttpClient(200, headers, JSON.getBytes(StandardCharsets.UTF_8)), Duration.ofSeconds(1));
+
+        try (ClientHttpResponse response = factory.createRequest(URI.create(baseUrl + "/h2"), HttpMethod.GET)
+                .execute()) {
+            assertThat(response.getHeaders().keySet()).noneMatch(name -> name.startsWith(":"));
+            assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE)).isEqualTo("application/json");
+            assertThat(new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(JSON);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static class StubHttpClient extends HttpClient {
+
+        private final int status;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+
+        StubHttpClient(int status, Map<String, List<String>> headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+            return (HttpResponse<T>) new StubResponse(request);
+        }
+
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+                                                                HttpResponse.BodyHandler<T> handler) {
+            return CompletableFuture.completedFuture(send(request, handler));
+        }
+
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+                                                                HttpResponse.BodyHandler<T> handler,
+                                                                HttpResponse.PushPromiseHandler<T> pushHandler) {
+            return sendAsync(request, handler);
+        }
+
+        @Override
+        public Optional<CookieHandler> cookieHandler() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Duration> connectTimeout() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Redirect followRedirects() {
+            return Redirect.NEVER;
+        }
+
+        @Override
+        public Optional<ProxySelector> proxy() {
+            return Optional.empty();
+        }
+
+        @Override
+        public SSLContext sslContext() {
+            return null;
+        }
+
+        @Override
+        public SSLParameters sslParameters() {
+            return null;
+        }
+
+        @Override
+        public Optional<Authenticator> authenticator() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Version version() {
+            return Version.HTTP_2;
+        }
+
+        @Override
+        public Optional<Executor> executor() {
+            return Optional.empty();
+        }
+
+        private class StubResponse implements HttpResponse<InputStream> {
+
+            private final HttpRequest request;
+
+            StubResponse(HttpRequest request) {
+                this.request = request;
+            }
+
+            @Override
+            public int statusCode() {
+                return status;
+            }
+
+            @Override
+            public HttpRequest request() {
+                return request;
+            }
+
+            @Override
+            public Optional<HttpResponse<InputStream>> previousResponse() {
+                return Optional.empty();
+            }
+
+            @Override
+            public java.net.http.HttpHeaders headers() {
+                return java.net.http.HttpHeaders.of(headers, (name, value) -> true);
+            }
+
+            @Override
+            public InputStream body() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public Optional<SSLSession> sslSession() {
+                return Optional.empty();
+            }
+
+            @Override
+            public URI uri() {
+                return request.uri();
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_2;
+            }
+
+        }
+
+    }
+
+}
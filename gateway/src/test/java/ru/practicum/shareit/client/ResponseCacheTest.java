@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private ResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        properties.setTtl(Duration.ofMinutes(1));
+        properties.setMaxSize(100);
+        cache = new ResponseCache(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void evictRemovesOnlyEntriesOfTheResource() {
+        cache.get(ResponseCache.ITEMS, "item:1", "1 /items/1", loader());
+        cache.get(ResponseCache.ITEMS, "item:1", "2 /items/1", loader());
+        cache.get(ResponseCache.ITEMS, "item:12", "1 /items/12", loader());
+        cache.get(ResponseCache.ITEMS, "search", "/items/search?text=a", loader());
+
+        cache.evict(ResponseCache.ITEMS, "item:1");
+
+        cache.get(ResponseCache.ITEMS, "item:1", "1 /items/1", loader());
+        cache.get(ResponseCache.ITEMS, "item:1", "2 /items/1", loader());
+        cache.get(ResponseCache.ITEMS, "item:12", "1 /items/12", loader());
+        cache.get(ResponseCache.ITEMS, "search", "/items/search?text=a", loader());
+        assertThat(loads).hasValue(6);
+    }
+
+    @Test
+    void invalidateClearsWholeRegionOnly() {
+        cache.get(ResponseCache.ITEMS, "item:1", "1 /items/1", loader());
+        cache.get(ResponseCache.REQUESTS, "request:1", "1 /requests/1", loader());
+
+        cache.invalidate(ResponseCache.ITEMS);
+
+        cache.get(ResponseCache.ITEMS, "item:1", "1 /items/1", loader());
+        cache.get(ResponseCache.REQUESTS, "request:1", "1 /requests/1", loader());
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void responseLoadedDuringEvictionIsNotCached() {
+        cache.get(ResponseCache.ITEMS, "item:1", "1 /items/1", () -> {
+            cache.evict(ResponseCache.ITEMS, "item:1");
+            return loader().get();
+        });
+
+        cache.get(ResponseCache.ITEMS, "item:1", "1 /items/1", loader());
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void responseLoadedDuringEvictionOfAnotherResourceIsCached() {
+        cache.get(ResponseCache.ITEMS, "item:1", "1 /items/1", () -> {
+            cache.evict(ResponseCache.ITEMS, "item:2");
+            return loader().get();
+        });
+
+        cache.get(ResponseCache.ITEMS, "item:1", "1 /items/1", loader());
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void resourceIsCachedAgainAfterEviction() {
+        cache.get(ResponseCache.ITEMS, "item:1", "1 /items/1", loader());
+        cache.evict(ResponseCache.ITEMS, "item:1");
+        cache.get(ResponseCache.ITEMS, "item:1", "1 /items/1", loader());
+
+        cache.get(ResponseCache.ITEMS, "item:1", "1 /items/1", loader());
+        cache.evict(ResponseCache.ITEMS, "item:1");
+        cache.get(ResponseCache.ITEMS, "item:1", "1 /items/1", loader());
+        assertThat(loads).hasValue(3);
+    }
+
+    private Supplier<ResponseEntity<Object>> loader() {
+        return () -> ResponseEntity.ok(loads.incrementAndGet());
+    }
+
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.limit.AimdLimiter;
+import ru.practicum.shareit.limit.ConcurrencyLimitProperties;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class UpstreamGuardTest {
+
+    private final AimdLimiter limiter = new AimdLimiter(new ConcurrencyLimitProperties());
+
+    @Test
+    void upstreamResponseIsSampled() {
+        ResponseEntity<Object> response = guard(limiter).execute("items", HttpMethod.POST,
+                () -> ResponseEntity.ok("item"));
+
+        assertThat(response.getBody()).isEqualTo("item");
+        assertThat(limiter.getBaselineNanos()).isPositive();
+    }
+
+    @Test
+    void upstreamErrorStatusIsSampled() {
+        Throwable thrown = catchThrowable(() -> guard(limiter).execute("items", HttpMethod.POST, () -> {
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+        }));
+
+        assertThat(thrown).isInstanceOf(HttpClientErrorException.class);
+        assertThat(limiter.getBaselineNanos()).isPositive();
+    }
+
+    @Test
+    void unreachableUpstreamIsNotSampled() {
+        Throwable thrown = catchThrowable(() -> guard(limiter).execute("items", HttpMethod.POST, () -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+
+        assertThat(thrown).isInstanceOf(ResourceAccessException.class);
+        assertThat(limiter.getBaselineNanos()).isZero();
+    }
+
+    @Test
+    void worksWithoutLimiter() {
+        ResponseEntity<Object> response = guard(null).execute("items", HttpMethod.GET,
+                () -> ResponseEntity.ok("item"));
+
+        assertThat(response.getBody()).isEqualTo("item");
+    }
+
+    private static UpstreamGuard guard(AimdLimiter limiter) {
+        StaticListableBeanFactory beanFactory = limiter != null
+                ? new StaticListableBeanFactory(Map.of("aimdLimiter", limiter))
+                : new StaticListableBeanFactory();
+        return new UpstreamGuard(BulkheadRegistry.ofDefaults(), CircuitBreakerRegistry.ofDefaults(),
+                RetryRegistry.ofDefaults(), new SimpleMeterRegistry(), beanFactory.getBeanProvider(AimdLimiter.class),
+                0.2, 10);
+    }
+
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.config;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import ru.practicum.shareit.config.VirtualThreadsConfig.VirtualThreadsCustomizer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadsConfigTest {
+
+    @Test
+    void fallsBackToTomcatPoolWhenVirtualThreadsAreMissing() {
+        VirtualThreadsCustomizer customizer = new VirtualThreadsCustomizer(Object.class);
+        Http11NioProtocol protocol = new Http11NioProtocol();
+
+        customizer.customize(protocol);
+
+        assertThat(customizer.isEnabled()).isFalse();
+        assertThat(protocol.getExecutor()).isNull();
+        customizer.destroy();
+    }
+
+    @Test
+    void installsExecutorWhenFactoryMethodExists() {
+        VirtualThreadsCustomizer customizer = new VirtualThreadsCustomizer(StubExecutors.class);
+        Http11NioProtocol protocol = new Http11NioProtocol();
+
+        customizer.customize(protocol);
+
+        assertThat(customizer.isEnabled()).isTrue();
+        assertThat(protocol.getExecutor()).isInstanceOf(ExecutorService.class);
+        customizer.destroy();
+        assertThat(((ExecutorService) protocol.getExecutor()).isShutdown()).isTrue();
+    }
+
+    @Test
+    void enabledFlagStartsOnCurrentJdk() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(VirtualThreadsConfig.class)
+                .withPropertyValues("shareit.virtual-threads.enabled=true")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(VirtualThreadsCustomizer.class);
+                    assertThat(context.getBean(VirtualThreadsCustomizer.class).isEnabled())
+                            .isEqualTo(Runtime.version().feature() >= 21);
+                });
+    }
+
+    public static class StubExecutors {
+
+        public static ExecutorService newVirtualThreadPerTaskExecutor() {
+            return Executors.newCachedThreadPool();
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.limit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTest {
+
+    private static final long MS = Duration.ofMillis(1).toNanos();
+
+    private AimdLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(20);
+        properties.setBackoffRatio(0.5);
+        properties.setLatencyTolerance(2.0);
+        properties.setBaselineSmoothing(0.1);
+        properties.setMinLatencyThreshold(Duration.ofMillis(5));
+        limiter = new AimdLimiter(properties);
+    }
+
+    @Test
+    void increasesWhileLatencyStaysNearBaseline() {
+        runBatch(10, 50 * MS);
+        runBatch(10, 80 * MS);
+
+        assertThat(limiter.getBaselineNanos()).isGreaterThanOrEqualTo(50 * MS).isLessThan(80 * MS);
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void decreasesWhenLatencyExceedsBaselineTimesTolerance() {
+        runBatch(10, 50 * MS);
+        int limitBefore = limiter.getLimit();
+
+        runBatch(1, 150 * MS);
+
+        assertThat(limiter.getLimit()).isEqualTo(limitBefore / 2);
+    }
+
+    @Test
+    void slowButStableBackendDoesNotShrinkLimit() {
+        runBatch(10, 3_000 * MS);
+        runBatch(10, 3_500 * MS);
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void singleFastSampleMovesBaselineOnlyBySmoothing() {
+        runBatch(5, 100 * MS);
+        runBatch(1, 40 * MS);
+
+        assertThat(limiter.getBaselineNanos()).isEqualTo(94 * MS);
+    }
+
+    @Test
+    void baselineFollowsSustainedFasterBackend() {
+        runBatch(5, 100 * MS);
+        for (int i = 0; i < 10; i++) {
+            runBatch(5, 40 * MS);
+        }
+
+        assertThat(limiter.getBaselineNanos()).isLessThan(41 * MS);
+    }
+
+    @Test
+    void latenciesBelowFloorNeverCountAsCongestion() {
+        runBatch(5, MS / 10);
+        int limitBefore = limiter.getLimit();
+
+        runBatch(1, 4 * MS);
+
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(limitBefore);
+    }
+
+    @Test
+    void droppedRequestsDecreaseAndLimitStaysAboveMinimum() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(true)).isTrue();
+            limiter.release(true);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    private void runBatch(int requests, long latencyNanos) {
+        for (int i = 0; i < requests; i++) {
+            assertThat(limiter.tryAcquire(true)).isTrue();
+        }
+        for (int i = 0; i < requests; i++) {
+            limiter.onSample(latencyNanos);
+            limiter.release(false);
+        }
+    }
+
+}
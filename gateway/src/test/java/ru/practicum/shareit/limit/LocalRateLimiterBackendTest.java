@@ -0,0 +1,55 @@
+package ru.practicum.shareit.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterBackendTest {
+
+    private long now;
+    private RateLimitProperties.Limit limit;
+    private LocalRateLimiterBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setIdleExpiry(Duration.ofMinutes(10));
+        limit = new RateLimitProperties.Limit();
+        limit.setCapacity(1);
+        limit.setRefillPerSecond(0.001);
+        backend = new LocalRateLimiterBackend(properties, new SimpleMeterRegistry(), () -> now);
+    }
+
+    @Test
+    void keepsSeparateBucketPerKey() {
+        assertThat(backend.tryConsume("user 1:default", limit)).isTrue();
+        assertThat(backend.tryConsume("user 1:default", limit)).isFalse();
+
+        assertThat(backend.tryConsume("user 2:default", limit)).isTrue();
+    }
+
+    @Test
+    void activeBucketIsNotEvicted() {
+        backend.tryConsume("user 1:default", limit);
+
+        for (int i = 0; i < 3; i++) {
+            now += Duration.ofMinutes(5).toNanos();
+            assertThat(backend.tryConsume("user 1:default", limit)).isFalse();
+        }
+    }
+
+    @Test
+    void idleBucketIsEvicted() {
+        backend.tryConsume("user 1:default", limit);
+
+        now += Duration.ofMinutes(11).toNanos();
+
+        // 660 секунд при 0.001 токена в секунду не пополняют корзину: проходит только новая корзина
+        assertThat(backend.tryConsume("user 1:default", limit)).isTrue();
+    }
+
+}
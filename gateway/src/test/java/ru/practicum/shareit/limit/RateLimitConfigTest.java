@@ -0,0 +1,43 @@
+package ru.practicum.shareit.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitConfigTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withUserConfiguration(RateLimitConfig.class)
+            .withBean(ObjectMapper.class, ObjectMapper::new)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void acceptsPositiveRefill() {
+        contextRunner.withPropertyValues("shareit.rate-limit.limits.search.capacity=20",
+                        "shareit.rate-limit.limits.search.refill-per-second=0.5")
+                .run(context -> assertThat(context).hasSingleBean(RateLimitFilter.class));
+    }
+
+    @Test
+    void rejectsZeroRefill() {
+        contextRunner.withPropertyValues("shareit.rate-limit.limits.search.capacity=20",
+                        "shareit.rate-limit.limits.search.refill-per-second=0")
+                .run(context -> assertThat(context).getFailure()
+                        .hasRootCauseInstanceOf(IllegalStateException.class)
+                        .hasRootCauseMessage("shareit.rate-limit.limits.search.refill-per-second must be positive, " +
+                                "got 0.0"));
+    }
+
+    @Test
+    void rejectsEmptyCapacity() {
+        contextRunner.withPropertyValues("shareit.rate-limit.limits.search.capacity=0",
+                        "shareit.rate-limit.limits.search.refill-per-second=10")
+                .run(context -> assertThat(context).getFailure()
+                        .hasRootCauseInstanceOf(IllegalStateException.class));
+    }
+
+}
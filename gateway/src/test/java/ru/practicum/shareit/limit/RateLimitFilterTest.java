@@ -0,0 +1,90 @@
+package ru.practicum.shareit.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private MeterRegistry registry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(2);
+        limit.setRefillPerSecond(0.5);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLimits(Map.of(RateLimitProperties.DEFAULT_CLASS, limit));
+        registry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(new LocalRateLimiterBackend(properties, registry), properties,
+                new ObjectMapper(), registry);
+    }
+
+    @Test
+    void rejectsWithRetryAfterWhenBucketIsEmpty() throws ServletException, IOException {
+        assertThat(send(fromUser("1")).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(send(fromUser("1")).getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        MockHttpServletResponse rejected = send(fromUser("1"));
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).contains("Too many requests");
+        assertThat(registry.get("shareit.gateway.rate-limit.rejected")
+                .tag("endpoint", RateLimitProperties.DEFAULT_CLASS)
+                .counter()
+                .count()).isEqualTo(1);
+        assertThat(send(fromUser("2")).getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void limitsRequestsWithoutUserIdByRemoteAddress() throws ServletException, IOException {
+        send(fromAddress("10.0.0.1"));
+        send(fromAddress("10.0.0.1"));
+
+        assertThat(send(fromAddress("10.0.0.1")).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(send(fromAddress("10.0.0.2")).getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void doesNotLimitActuator() throws ServletException, IOException {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = fromAddress("10.0.0.1");
+            request.setRequestURI("/actuator/health");
+            assertThat(send(request).getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+    }
+
+    private MockHttpServletRequest fromUser(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.addHeader("X-Sharer-User-Id", userId);
+        return request;
+    }
+
+    private MockHttpServletRequest fromAddress(String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users");
+        request.setRemoteAddr(address);
+        return request;
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+}
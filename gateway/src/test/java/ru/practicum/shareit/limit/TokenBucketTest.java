@@ -0,0 +1,63 @@
+package ru.practicum.shareit.limit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long MS = Duration.ofMillis(1).toNanos();
+
+    private long now;
+    private TokenBucket bucket;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(3);
+        limit.setRefillPerSecond(10);
+        now = 1_000 * MS;
+        bucket = new TokenBucket(limit, () -> now);
+    }
+
+    @Test
+    void startsFullAndRejectsWhenEmpty() {
+        assertThat(consume(3)).isEqualTo(3);
+        assertThat(bucket.tryConsume()).isFalse();
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        consume(3);
+
+        now += 50 * MS;
+        assertThat(bucket.tryConsume()).isFalse();
+
+        now += 50 * MS;
+        assertThat(bucket.tryConsume()).isTrue();
+        assertThat(bucket.tryConsume()).isFalse();
+    }
+
+    @Test
+    void doesNotAccumulateAboveCapacity() {
+        consume(3);
+
+        now += 10_000 * MS;
+
+        assertThat(consume(10)).isEqualTo(3);
+    }
+
+    private int consume(int attempts) {
+        int consumed = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (bucket.tryConsume()) {
+                consumed++;
+            }
+        }
+        return consumed;
+    }
+
+}
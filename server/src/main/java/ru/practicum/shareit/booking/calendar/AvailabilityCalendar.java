@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking.calendar;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.enums.BookingStatus;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+@Slf4j
+@Component
+public class AvailabilityCalendar {
+
+    private static final Set<BookingStatus> BUSY_STATUSES = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final Cache<Long, BookingIntervals> calendars;
+    private final TransactionTemplate loadTemplate;
+
+    public AvailabilityCalendar(BookingRepository bookingRepository,
+                                ItemRepository itemRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry registry,
+                                @Value("${shareit.availability.max-items}") long maxItems,
+                                @Value("${shareit.availability.expire-after-access}") Duration expireAfterAccess,
+                                @Value("${shareit.datasource.routing.enabled:false}") boolean routingEnabled) {
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.loadTemplate = new TransactionTemplate(transactionManager);
+        // При маршрутизации читаем только с primary: календарь, прогретый с отстающей реплики,
+        // не получит пропущенные бронирования
+        if (routingEnabled) {
+            this.loadTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        } else {
+            this.loadTemplate.setReadOnly(true);
+        }
+        this.calendars = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, calendars, "availability");
+    }
+
+    public BookingIntervals get(long itemId) {
+        return calendars.get(itemId, this::load);
+    }
+
+    public void onBookingSaved(Booking booking) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(booking);
+                }
+            });
+        } else {
+            apply(booking);
+        }
+    }
+
+    private void apply(Booking booking) {
+        calendars.asMap().computeIfPresent(booking.getItem().getId(), (itemId, intervals) -> {
+            if (BUSY_STATUSES.contains(booking.getStatus())) {
+                intervals.put(toInterval(booking));
+            } else {
+                intervals.remove(booking.getId());
+            }
+            return intervals;
+        });
+    }
+
+    // Загрузка идет под блокировкой записи кэша, поэтому вызывающий не должен держать соединение из пула
+    private BookingIntervals load(long itemId) {
+        return loadTemplate.execute(status -> loadFromDatabase(itemId));
+    }
+
+    private BookingIntervals loadFromDatabase(long itemId) {
+        Optional<Long> ownerId = itemRepository.findOwnerIdById(itemId);
+        if (ownerId.isEmpty()) {
+            log.info("Не найдена вещь с id={}", itemId);
+            throw new NotFoundException();
+        }
+        BookingIntervals intervals = new BookingIntervals(ownerId.get());
+        bookingRepository.findAllByItemIdAndStatusIn(itemId, BUSY_STATUSES)
+                .forEach(booking -> intervals.put(toInterval(booking)));
+        log.info("Загружен календарь занятости вещи с id={}", itemId);
+        return intervals;
+    }
+
+    private static BookingIntervals.Interval toInterval(Booking booking) {
+        return new BookingIntervals.Interval(booking.getId(), booking.getStart(), booking.getEnd(),
+                booking.getStatus());
+    }
+
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.enums.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class BookingIntervals {
+
+    @Getter
+    private final long ownerId;
+    private final NavigableMap<Key, Interval> intervals = new TreeMap<>();
+    private final Map<Long, Key> keysById = new HashMap<>();
+    private Duration maxDuration = Duration.ZERO;
+
+    public synchronized void put(Interval interval) {
+        remove(interval.getBookingId());
+        Key key = new Key(interval.getStart(), interval.getBookingId());
+        intervals.put(key, interval);
+        keysById.put(interval.getBookingId(), key);
+        Duration duration = Duration.between(interval.getStart(), interval.getEnd());
+        if (duration.compareTo(maxDuration) > 0) {
+            maxDuration = duration;
+        }
+    }
+
+    public synchronized void remove(long bookingId) {
+        Key key = keysById.remove(bookingId);
+        if (key != null) {
+            intervals.remove(key);
+        }
+    }
+
+    public synchronized List<Interval> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        Key lower = new Key(from.minus(maxDuration), Long.MIN_VALUE);
+        Key upper = new Key(to, Long.MIN_VALUE);
+        List<Interval> overlapping = new ArrayList<>();
+        for (Interval interval : intervals.subMap(lower, true, upper, false).values()) {
+            if (interval.getEnd().isAfter(from)) {
+                overlapping.add(interval);
+            }
+        }
+        return overlapping;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Interval {
+
+        private long bookingId;
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private BookingStatus status;
+
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class Key implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::getStart)
+                .thenComparingLong(Key::getBookingId);
+
+        private LocalDateTime start;
+        private long bookingId;
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+
+    }
+
+}
@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingFromUserDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -44,9 +45,14 @@ public class BookingController {
     public ResponseEntity<List<BookingDto>> getUserBookings(@RequestHeader(value = "X-Sharer-User-Id") long userId,
                                                             @RequestParam(defaultValue = "ALL") String state,
                                                             @RequestParam(required = false) Integer from,
-                                                            @RequestParam(required = false) Integer size) {
-        log.info("Received GET-request at /bookings?state={}&from={}&size={} endpoint from user id={}",
-                state, from, size, userId);
+                                                            @RequestParam(required = false) Integer size,
+                                                            @RequestParam(required = false) String cursor) {
+        log.info("Received GET-request at /bookings?state={}&from={}&size={}&cursor={} endpoint from user id={}",
+                state, from, size, cursor, userId);
+        if (cursor != null) {
+            CursorPage<BookingDto> page = bookingService.getUserBookingsPage(userId, state, cursor, size);
+            return ResponseEntity.ok().headers(page.toHeaders()).body(page.getItems());
+        }
         return ResponseEntity.ok().body(bookingService.getUserBookings(userId, state, from, size));
     }
 
@@ -54,9 +60,14 @@ public class BookingController {
     public ResponseEntity<List<BookingDto>> getItemsOwnerBookings(@RequestHeader(value = "X-Sharer-User-Id") long userId,
                                                                   @RequestParam(defaultValue = "ALL") String state,
                                                                   @RequestParam(required = false) Integer from,
-                                                                  @RequestParam(required = false) Integer size) {
-        log.info("Received GET-request at /bookings/owner?state={}&from={}&size={} endpoint from user id={}",
-                state, from, size, userId);
+                                                                  @RequestParam(required = false) Integer size,
+                                                                  @RequestParam(required = false) String cursor) {
+        log.info("Received GET-request at /bookings/owner?state={}&from={}&size={}&cursor={} endpoint from user id={}",
+                state, from, size, cursor, userId);
+        if (cursor != null) {
+            CursorPage<BookingDto> page = bookingService.getItemsOwnerBookingsPage(userId, state, cursor, size);
+            return ResponseEntity.ok().headers(page.toHeaders()).body(page.getItems());
+        }
         return ResponseEntity.ok().body(bookingService.getItemsOwnerBookings(userId, state, from, size));
     }
 
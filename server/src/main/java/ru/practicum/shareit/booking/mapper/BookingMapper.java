@@ -5,6 +5,7 @@ import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 
 @Mapper(componentModel = "spring")
@@ -14,6 +15,11 @@ public interface BookingMapper {
 
     BookingDto toBookingDto(Booking booking);
 
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "booker.id", source = "bookerId")
+    BookingDto toBookingDto(BookingView bookingView);
+
     Booking toBooking(BookingDto bookingDto);
 
     @Mapping(target = "id", source = "booking.id")
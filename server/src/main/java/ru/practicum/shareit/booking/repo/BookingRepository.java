@@ -1,64 +1,52 @@
 package ru.practicum.shareit.booking.repo;
 
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.enums.BookingStatus;
-import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    List<Booking> findAllByBooker(User booker, Sort sort);
+    @Override
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findAllByBooker(User booker, Pageable pageable);
+    Optional<Booking> findFirst1ByItemIdIsAndStartIsBeforeAndStatusIsOrderByEndDescIdDesc(long itemId, LocalDateTime end, BookingStatus status);
 
-    List<Booking> findByBookerAndStartIsBeforeAndEndIsAfter(User booker, LocalDateTime start, LocalDateTime end, Sort sort);
+    Optional<Booking> findFirst1ByItemIdIsAndStartIsAfterAndStatusIsOrderByStartAscIdAsc(long itemId, LocalDateTime start, BookingStatus status);
 
-    List<Booking> findByBookerAndStartIsBeforeAndEndIsAfter(User booker, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findByBookerAndEndIsBefore(User booker, LocalDateTime end, Sort sort);
-
-    List<Booking> findByBookerAndEndIsBefore(User booker, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findByBookerAndStartIsAfter(User booker, LocalDateTime start, Sort sort);
-
-    List<Booking> findByBookerAndStartIsAfter(User booker, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findByBookerAndStatusIs(User booker, BookingStatus status, Sort sort);
-
-    List<Booking> findByBookerAndStatusIs(User booker, BookingStatus status, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIs(User booker, Sort sort);
-
-    List<Booking> findAllByItemOwnerIs(User booker, Pageable pageable);
-
-    List<Booking> findByItemOwnerAndStartIsBeforeAndEndIsAfter(User booker, LocalDateTime start, LocalDateTime end, Sort sort);
-
-    List<Booking> findByItemOwnerAndStartIsBeforeAndEndIsAfter(User booker, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findByItemOwnerAndEndIsBefore(User booker, LocalDateTime end, Sort sort);
-
-    List<Booking> findByItemOwnerAndEndIsBefore(User booker, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findByItemOwnerAndStartIsAfter(User booker, LocalDateTime start, Sort sort);
-
-    List<Booking> findByItemOwnerAndStartIsAfter(User booker, LocalDateTime start, Pageable pageable);
+    Optional<Booking> findFirst1ByItemIdAndBookerIdAndEndIsBefore(long itemId, long bookerId, LocalDateTime end);
 
-    List<Booking> findByItemOwnerAndStatusIs(User booker, BookingStatus status, Sort sort);
+    List<Booking> findAllByItemIdAndStatusIn(long itemId, Collection<BookingStatus> statuses);
 
-    List<Booking> findByItemOwnerAndStatusIs(User booker, BookingStatus status, Pageable pageable);
+    @Query(" select count(b) > 0 from Booking b " +
+            "where b.item.id = ?1 and b.status in ?4 and b.start < ?3 and b.end > ?2")
+    boolean existsOverlapping(long itemId, LocalDateTime start, LocalDateTime end, Collection<BookingStatus> statuses);
 
-    Optional<Booking> findFirst1ByItemIdIsAndStartIsBeforeAndStatusIsOrderByEndDesc(long itemId, LocalDateTime end, BookingStatus status);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(" update Booking b set b.status = ?3, b.version = b.version + 1 " +
+            "where b.id = ?1 and b.status = ?2")
+    int updateStatus(long bookingId, BookingStatus expectedStatus, BookingStatus newStatus);
 
-    Optional<Booking> findFirst1ByItemIdIsAndStartIsAfterAndStatusIsOrderByStartAsc(long itemId, LocalDateTime start, BookingStatus status);
+    @Query(" select b from Booking b join fetch b.booker " +
+            "where b.item.id in ?1 and b.status = ?3 and b.start < ?2 " +
+            "and b.end = (select max(bb.end) from Booking bb " +
+            "where bb.item.id = b.item.id and bb.status = ?3 and bb.start < ?2)")
+    List<Booking> findLastBookingsByItemIds(Collection<Long> itemIds, LocalDateTime now, BookingStatus status);
 
-    Optional<Booking> findFirst1ByItemIdAndBookerIdAndEndIsBefore(long itemId, long bookerId, LocalDateTime end);
+    @Query(" select b from Booking b join fetch b.booker " +
+            "where b.item.id in ?1 and b.status = ?3 and b.start > ?2 " +
+            "and b.start = (select min(bb.start) from Booking bb " +
+            "where bb.item.id = b.item.id and bb.status = ?3 and bb.start > ?2)")
+    List<Booking> findNextBookingsByItemIds(Collection<Long> itemIds, LocalDateTime now, BookingStatus status);
 
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.repo;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.enums.BookingRole;
+import ru.practicum.shareit.enums.BookingState;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<BookingView> findAllByState(long userId, BookingRole role, BookingState state, LocalDateTime now,
+                                     Pageable pageable);
+
+    List<BookingView> findAllByStateAfter(long userId, BookingRole role, BookingState state, LocalDateTime now,
+                                          @Nullable PageCursor after, int limit);
+
+}
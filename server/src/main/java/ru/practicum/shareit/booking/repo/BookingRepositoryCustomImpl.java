@@ -0,0 +1,114 @@
+package ru.practicum.shareit.booking.repo;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.enums.BookingRole;
+import ru.practicum.shareit.enums.BookingState;
+import ru.practicum.shareit.enums.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private static final Sort DEFAULT_SORT = Sort.by("end").descending();
+    private static final Sort KEYSET_SORT = Sort.by("end").descending().and(Sort.by("id").descending());
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findAllByState(long userId, BookingRole role, BookingState state, LocalDateTime now,
+                                            Pageable pageable) {
+        TypedQuery<BookingView> query = createQuery(userId, role, state, now, null, pageable.getSortOr(DEFAULT_SORT));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public List<BookingView> findAllByStateAfter(long userId, BookingRole role, BookingState state, LocalDateTime now,
+                                                 @Nullable PageCursor after, int limit) {
+        return createQuery(userId, role, state, now, after, KEYSET_SORT)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<BookingView> createQuery(long userId, BookingRole role, BookingState state, LocalDateTime now,
+                                                @Nullable PageCursor after, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (role == BookingRole.OWNER) {
+            predicates.add(cb.equal(item.get("owner").get("id"), userId));
+        } else {
+            predicates.add(cb.equal(booking.get("booker").get("id"), userId));
+        }
+        predicates.addAll(byState(cb, booking, state, now));
+        if (after != null) {
+            LocalDateTime end = after.getKeyAsDateTime();
+            predicates.add(cb.or(
+                    cb.lessThan(booking.get("end"), end),
+                    cb.and(cb.equal(booking.get("end"), end), cb.lessThan(booking.get("id"), after.getId()))));
+        }
+
+        query.select(cb.construct(BookingView.class,
+                        booking.get("id"),
+                        booking.get("start"),
+                        booking.get("end"),
+                        booking.get("status"),
+                        item.get("id"),
+                        item.get("name"),
+                        booking.get("booker").get("id")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(QueryUtils.toOrders(sort, booking, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private List<Predicate> byState(CriteriaBuilder cb, Root<Booking> booking, BookingState state,
+                                    LocalDateTime now) {
+        List<Predicate> predicates = new ArrayList<>();
+        switch (state) {
+            case CURRENT:
+                predicates.add(cb.lessThan(booking.get("start"), now));
+                predicates.add(cb.greaterThan(booking.get("end"), now));
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(booking.get("end"), now));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(booking.get("start"), now));
+                break;
+            case WAITING:
+                predicates.add(cb.equal(booking.get("status"), BookingStatus.WAITING));
+                break;
+            case REJECTED:
+                predicates.add(cb.equal(booking.get("status"), BookingStatus.REJECTED));
+                break;
+            case ALL:
+                break;
+        }
+        return predicates;
+    }
+
+}
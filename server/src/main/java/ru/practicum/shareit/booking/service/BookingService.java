@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingFromUserDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -17,4 +18,8 @@ public interface BookingService {
 
     List<BookingDto> getItemsOwnerBookings(long userId, String state, Integer from, Integer size);
 
+    CursorPage<BookingDto> getUserBookingsPage(long userId, String state, String cursor, Integer size);
+
+    CursorPage<BookingDto> getItemsOwnerBookingsPage(long userId, String state, String cursor, Integer size);
+
 }
\ No newline at end of file
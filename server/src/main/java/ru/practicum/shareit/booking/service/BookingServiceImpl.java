@@ -3,49 +3,72 @@ package ru.practicum.shareit.booking.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingFromUserDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.enums.BookingRole;
 import ru.practicum.shareit.enums.BookingState;
 import ru.practicum.shareit.enums.BookingStatus;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
 
+    private static final Set<BookingStatus> ACTIVE_STATUSES = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final AvailabilityCalendar availabilityCalendar;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     private BookingMapper bookingMapper;
 
     @Override
+    @Transactional
     public BookingDto addNewBooking(long userId, BookingFromUserDto bookingFromUser) {
         User booker = findUser(userId);
         validateBookingDate(userId, bookingFromUser);
         Item item = getValidatedBookingItem(userId, bookingFromUser);
         LocalDateTime start = bookingFromUser.getStart();
         LocalDateTime end = bookingFromUser.getEnd();
+        if (bookingRepository.existsOverlapping(item.getId(), start, end, ACTIVE_STATUSES)) {
+            log.info("Вещь с id={} уже забронирована на период с {} по {}", item.getId(), start, end);
+            throw new ConflictException();
+        }
         Booking booking = Booking.builder()
                 .booker(booker)
                 .item(item)
@@ -53,7 +76,15 @@ public class BookingServiceImpl implements BookingService {
                 .end(end)
                 .status(BookingStatus.WAITING)
                 .build();
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            log.info("Бронирование вещи с id={} на период с {} по {} пересекается с существующим",
+                    item.getId(), start, end);
+            throw new ConflictException();
+        }
+        availabilityCalendar.onBookingSaved(savedBooking);
         log.info("Добавлено новое бронирование {} от user id={}", savedBooking, userId);
         return bookingMapper.toBookingDto(savedBooking);
     }
@@ -103,30 +134,68 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookingDto updateBooking(long userId, long bookingId, String approved) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    Booking savedBooking = changeStatus(userId, bookingId, approved);
+                    availabilityCalendar.onBookingSaved(savedBooking);
+                    log.info("Изменено бронирование {} от user id={}", savedBooking, userId);
+                    return bookingMapper.toBookingDto(savedBooking);
+                });
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    log.info("Бронирование с id={} изменено параллельно, попыток: {}", bookingId, attempt);
+                    throw new ConflictException();
+                }
+                log.info("Бронирование с id={} изменено параллельно, повтор попытки {}", bookingId, attempt + 1);
+            }
+        }
+    }
+
+    private Booking changeStatus(long userId, long bookingId, String approved) {
         Booking booking = findBooking(bookingId);
         validateBookingUpdate(userId, booking);
+        BookingStatus newStatus;
         switch (approved) {
             case "true":
-                if (booking.getStatus().equals(BookingStatus.APPROVED)) {
-                    log.info("Бронирование {} от user id={} уже находится в статусе {}", booking, userId, booking.getStatus());
-                    throw new ValidationException();
-                }
-                booking.setStatus(BookingStatus.APPROVED);
+                newStatus = BookingStatus.APPROVED;
                 break;
             case "false":
-                if (booking.getStatus().equals(BookingStatus.REJECTED)) {
-                    log.info("Бронирование {} от user id={} уже находится в статусе {}", booking, userId, booking.getStatus());
-                    throw new ValidationException();
-                }
-                booking.setStatus(BookingStatus.REJECTED);
+                newStatus = BookingStatus.REJECTED;
                 break;
             default:
                 throw new RuntimeException();
         }
-        Booking savedBooking = bookingRepository.save(booking);
-        log.info("Изменено бронирование {} от user id={}", savedBooking, userId);
-        return bookingMapper.toBookingDto(savedBooking);
+        if (booking.getStatus().equals(newStatus)) {
+            log.info("Бронирование {} от user id={} уже находится в статусе {}", booking, userId, booking.getStatus());
+            throw new ValidationException();
+        }
+        if (booking.getStatus().equals(BookingStatus.WAITING)) {
+            if (bookingRepository.updateStatus(bookingId, BookingStatus.WAITING, newStatus) == 0) {
+                Booking current = findBooking(bookingId);
+                log.info("Бронирование {} от user id={} уже рассмотрено параллельным запросом", current, userId);
+                if (current.getStatus().equals(newStatus)) {
+                    throw new ValidationException();
+                }
+                throw new ConflictException();
+            }
+            return findBooking(bookingId);
+        }
+        if (newStatus.equals(BookingStatus.APPROVED)
+                && bookingRepository.existsOverlapping(booking.getItem().getId(), booking.getStart(), booking.getEnd(),
+                ACTIVE_STATUSES)) {
+            log.info("Бронирование {} пересекается с другим активным бронированием вещи", booking);
+            throw new ConflictException();
+        }
+        booking.setStatus(newStatus);
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            log.info("Бронирование {} пересекается с другим активным бронированием вещи", booking);
+            throw new ConflictException();
+        }
     }
 
     private Booking findBooking(long bookingId) {
@@ -169,200 +238,85 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingDto> getUserBookings(long userId, String state, Integer from, Integer size) {
-        User user = findUser(userId);
-        BookingState status;
-        try {
-            status = BookingState.valueOf(state);
-        } catch (IllegalArgumentException e) {
-            throw new RuntimeException("Unknown state: UNSUPPORTED_STATUS");
+        return getBookings(userId, BookingRole.BOOKER, state, from, size);
+    }
+
+    @Override
+    public List<BookingDto> getItemsOwnerBookings(long userId, String state, Integer from, Integer size) {
+        return getBookings(userId, BookingRole.OWNER, state, from, size);
+    }
+
+    @Override
+    public CursorPage<BookingDto> getUserBookingsPage(long userId, String state, String cursor, Integer size) {
+        return getBookingsPage(userId, BookingRole.BOOKER, state, cursor, size);
+    }
+
+    @Override
+    public CursorPage<BookingDto> getItemsOwnerBookingsPage(long userId, String state, String cursor, Integer size) {
+        return getBookingsPage(userId, BookingRole.OWNER, state, cursor, size);
+    }
+
+    private List<BookingDto> getBookings(long userId, BookingRole role, String state, Integer from, Integer size) {
+        BookingState status = getValidatedState(userId, state);
+        Pageable pageable = Pageable.unpaged();
+        if (from != null && size != null) {
+            validateSearchParameters(userId, from, size);
+            pageable = PageRequest.of(from / size, size, Sort.by("end").descending());
         }
-        List<Booking> bookings = new ArrayList<>();
-        switch (status) {
-            case ALL:
-                if (from != null && size != null) {
-                    validateSearchParameters(from, size);
-                    bookings = bookingRepository.findAllByBooker(user,
-                            PageRequest.of(from / size, size, Sort.by("end").descending()));
-                } else {
-                    bookings = bookingRepository.findAllByBooker(user,
-                            Sort.by("end").descending());
-                }
-                break;
-            case CURRENT:
-                if (from != null && size != null) {
-                    validateSearchParameters(from, size);
-                    bookings = bookingRepository.findByBookerAndStartIsBeforeAndEndIsAfter(
-                            user,
-                            LocalDateTime.now(),
-                            LocalDateTime.now(),
-                            PageRequest.of(from / size, size, Sort.by("end").descending()));
-                } else {
-                    bookings = bookingRepository.findByBookerAndStartIsBeforeAndEndIsAfter(
-                            user,
-                            LocalDateTime.now(),
-                            LocalDateTime.now(),
-                            Sort.by("end").descending());
-                }
-                break;
-            case PAST:
-                if (from != null && size != null) {
-                    validateSearchParameters(from, size);
-                    bookings = bookingRepository.findByBookerAndEndIsBefore(
-                            user,
-                            LocalDateTime.now(),
-                            PageRequest.of(from / size, size, Sort.by("end").descending()));
-                } else {
-                    bookings = bookingRepository.findByBookerAndEndIsBefore(
-                            user,
-                            LocalDateTime.now(),
-                            Sort.by("end").descending());
-                }
-                break;
-            case FUTURE:
-                if (from != null && size != null) {
-                    validateSearchParameters(from, size);
-                    bookings = bookingRepository.findByBookerAndStartIsAfter(
-                            user,
-                            LocalDateTime.now(),
-                            PageRequest.of(from / size, size, Sort.by("end").descending()));
-                } else {
-                    bookings = bookingRepository.findByBookerAndStartIsAfter(
-                            user,
-                            LocalDateTime.now(),
-                            Sort.by("end").descending());
-                }
-                break;
-            case WAITING:
-                if (from != null && size != null) {
-                    validateSearchParameters(from, size);
-                    bookings = bookingRepository.findByBookerAndStatusIs(
-                            user,
-                            BookingStatus.WAITING,
-                            PageRequest.of(from / size, size, Sort.by("end").descending()));
-                } else {
-                    bookings = bookingRepository.findByBookerAndStatusIs(
-                            user,
-                            BookingStatus.WAITING,
-                            Sort.by("end").descending());
-                }
-                break;
-            case REJECTED:
-                if (from != null && size != null) {
-                    validateSearchParameters(from, size);
-                    bookings = bookingRepository.findByBookerAndStatusIs(
-                            user,
-                            BookingStatus.REJECTED,
-                            PageRequest.of(from / size, size, Sort.by("end").descending()));
-                } else {
-                    bookings = bookingRepository.findByBookerAndStatusIs(
-                            user,
-                            BookingStatus.REJECTED,
-                            Sort.by("end").descending());
-                }
-                break;
+        List<BookingView> bookings = bookingRepository.findAllByState(userId, role, status, LocalDateTime.now(), pageable);
+        if (bookings.isEmpty()) {
+            validateUserExists(userId);
         }
         return bookings.stream()
                 .map(bookingMapper::toBookingDto)
                 .collect(Collectors.toList());
     }
 
-    @Override
-    public List<BookingDto> getItemsOwnerBookings(long userId, String state, Integer from, Integer size) {
-        User user = findUser(userId);
-        BookingState status;
+    private CursorPage<BookingDto> getBookingsPage(long userId, BookingRole role, String state, String cursor,
+                                                   Integer size) {
+        BookingState status = getValidatedState(userId, state);
+        if (size == null) {
+            log.info("Для постраничного запроса по курсору не указан параметр 'size'");
+            throw new ValidationException();
+        }
+        validateSearchParameters(userId, 0, size);
+        PageCursor after = cursor.isEmpty() ? null : PageCursor.decode(cursor);
+        List<BookingView> bookings = bookingRepository.findAllByStateAfter(userId, role, status, LocalDateTime.now(),
+                after, size);
+        if (bookings.isEmpty()) {
+            validateUserExists(userId);
+        }
+        List<BookingDto> bookingsDto = bookings.stream()
+                .map(bookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+        return CursorPage.of(bookingsDto, size, booking -> PageCursor.of(booking.getEnd(), booking.getId()));
+    }
+
+    private BookingState getValidatedState(long userId, String state) {
+        if (userId == 0) {
+            throw new ValidationException();
+        }
         try {
-            status = BookingState.valueOf(state);
+            return BookingState.valueOf(state);
         } catch (IllegalArgumentException e) {
+            validateUserExists(userId);
             throw new RuntimeException("Unknown state: UNSUPPORTED_STATUS");
         }
-        List<Booking> bookings = new ArrayList<>();
-        switch (status) {
-            case ALL:
-                if (from != null && size != null) {
-                    validateSearchParameters(from, size);
-                    bookings = bookingRepository.findAllByItemOwnerIs(user,
-                            PageRequest.of(from / size, size, Sort.by("end").descending()));
-                } else {
-                    bookings = bookingRepository.findAllByItemOwnerIs(user,
-                            Sort.by("end").descending());
-                }
-                break;
-            case CURRENT:
-                if (from != null && size != null) {
-                    validateSearchParameters(from, size);
-                    bookings = bookingRepository.findByItemOwnerAndStartIsBeforeAndEndIsAfter(
-                            user,
-                            LocalDateTime.now(),
-                            LocalDateTime.now(),
-                            PageRequest.of(from / size, size, Sort.by("end").descending()));
-                } else {
-                    bookings = bookingRepository.findByItemOwnerAndStartIsBeforeAndEndIsAfter(
-                            user,
-                            LocalDateTime.now(),
-                            LocalDateTime.now(),
-                            Sort.by("end").descending());
-                }
-                break;
-            case PAST:
-                if (from != null && size != null) {
-                    validateSearchParameters(from, size);
-                    bookings = bookingRepository.findByItemOwnerAndEndIsBefore(
-                            user,
-                            LocalDateTime.now(),
-                            PageRequest.of(from / size, size, Sort.by("end").descending()));
-                } else {
-                    bookings = bookingRepository.findByItemOwnerAndEndIsBefore(
-                            user,
-                            LocalDateTime.now(),
-                            Sort.by("end").descending());
-                }
-                break;
-            case FUTURE:
-                if (from != null && size != null) {
-                    validateSearchParameters(from, size);
-                    bookings = bookingRepository.findByItemOwnerAndStartIsAfter(
-                            user,
-                            LocalDateTime.now(),
-                            PageRequest.of(from / size, size, Sort.by("end").descending()));
-                } else {
-                    bookings = bookingRepository.findByItemOwnerAndStartIsAfter(
-                            user,
-                            LocalDateTime.now(),
-                            Sort.by("end").descending());
-                }
-                break;
-            case WAITING:
-                if (from != null && size != null) {
-                    validateSearchParameters(from, size);
-                    bookings = bookingRepository.findByItemOwnerAndStatusIs(
-                            user,
-                            BookingStatus.WAITING,
-                            PageRequest.of(from / size, size, Sort.by("end").descending()));
-                } else {
-                    bookings = bookingRepository.findByItemOwnerAndStatusIs(
-                            user,
-                            BookingStatus.WAITING,
-                            Sort.by("end").descending());
-                }
-                break;
-            case REJECTED:
-                if (from != null && size != null) {
-                    validateSearchParameters(from, size);
-                    bookings = bookingRepository.findByItemOwnerAndStatusIs(
-                            user,
-                            BookingStatus.REJECTED,
-                            PageRequest.of(from / size, size, Sort.by("end").descending()));
-                } else {
-                    bookings = bookingRepository.findByItemOwnerAndStatusIs(
-                            user,
-                            BookingStatus.REJECTED,
-                            Sort.by("end").descending());
-                }
-                break;
+    }
+
+    private void validateSearchParameters(long userId, int from, int size) {
+        try {
+            validateSearchParameters(from, size);
+        } catch (ValidationException e) {
+            validateUserExists(userId);
+            throw e;
+        }
+    }
+
+    private void validateUserExists(long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException();
         }
-        return bookings.stream()
-                .map(bookingMapper::toBookingDto)
-                .collect(Collectors.toList());
     }
 
     private User findUser(long userId) {
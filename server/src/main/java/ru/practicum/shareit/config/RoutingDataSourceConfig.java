@@ -0,0 +1,96 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaDataSources replicaDataSources(HikariDataSource primaryDataSource,
+                                                 RoutingDataSourceProperties properties) {
+        Map<String, HikariDataSource> replicas = new HashMap<>();
+        List<String> urls = properties.getReplicaUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setJdbcUrl(urls.get(i));
+            replica.setPoolName(primaryDataSource.getPoolName() + "-replica-" + i);
+            replica.setReadOnly(true);
+            replica.setMetricRegistry(null);
+            replica.setMetricsTrackerFactory(null);
+            if (properties.getReplicaPoolSize() != null) {
+                replica.setMaximumPoolSize(properties.getReplicaPoolSize());
+            }
+            replicas.put(replica.getPoolName(), replica);
+            log.info("Настроена реплика {} для транзакций только на чтение", replica.getPoolName());
+        }
+        return new ReplicaDataSources(replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSources replicaDataSources) {
+        Map<Object, Object> targets = new HashMap<>(replicaDataSources.getDataSources());
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primaryDataSource);
+        ReadWriteRoutingDataSource routingDataSource =
+                new ReadWriteRoutingDataSource(new ArrayList<>(replicaDataSources.getDataSources().keySet()));
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    public static class ReplicaDataSources implements MeterBinder {
+
+        private final Map<String, HikariDataSource> dataSources;
+
+        public ReplicaDataSources(Map<String, HikariDataSource> dataSources) {
+            this.dataSources = Map.copyOf(dataSources);
+        }
+
+        public Map<String, HikariDataSource> getDataSources() {
+            return dataSources;
+        }
+
+        @Override
+        public void bindTo(MeterRegistry registry) {
+            dataSources.values().forEach(dataSource ->
+                    dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        }
+
+        public void close() {
+            dataSources.values().forEach(HikariDataSource::close);
+        }
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("shareit.datasource.routing")
+public class RoutingDataSourceProperties {
+
+    private boolean enabled = false;
+
+    private List<String> replicaUrls = new ArrayList<>();
+
+    private Integer replicaPoolSize;
+
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public VirtualThreadsCustomizer virtualThreadsProtocolHandlerCustomizer() {
+        return new VirtualThreadsCustomizer(Executors.class);
+    }
+
+    @Slf4j
+    static class VirtualThreadsCustomizer implements TomcatProtocolHandlerCustomizer<ProtocolHandler>, DisposableBean {
+
+        private final ExecutorService executor;
+
+        VirtualThreadsCustomizer(Class<?> executors) {
+            this.executor = newVirtualThreadExecutor(executors);
+        }
+
+        private static ExecutorService newVirtualThreadExecutor(Class<?> executors) {
+            try {
+                return (ExecutorService) executors.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (NoSuchMethodException e) {
+                log.warn("Виртуальные потоки недоступны в Java {}, используется пул потоков Tomcat",
+                        System.getProperty("java.specification.version"));
+                return null;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Не удалось создать исполнитель на виртуальных потоках", e);
+            }
+        }
+
+        boolean isEnabled() {
+            return executor != null;
+        }
+
+        @Override
+        public void customize(ProtocolHandler protocolHandler) {
+            if (executor != null) {
+                protocolHandler.setExecutor(executor);
+            }
+        }
+
+        @Override
+        public void destroy() {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+
+    }
+
+}
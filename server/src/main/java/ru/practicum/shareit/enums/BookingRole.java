@@ -0,0 +1,8 @@
+package ru.practicum.shareit.enums;
+
+public enum BookingRole {
+
+    BOOKER,
+    OWNER
+
+}
@@ -2,12 +2,16 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -16,6 +20,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
 
+    private static final int DEFAULT_AVAILABILITY_DAYS = 30;
+
     private final ItemService itemService;
 
     @PostMapping
@@ -43,8 +49,14 @@ public class ItemController {
     @GetMapping
     public ResponseEntity<List<ItemDto>> getAll(@RequestHeader("X-Sharer-User-Id") long userId,
                                                 @RequestParam(required = false) Integer from,
-                                                @RequestParam(required = false) Integer size) {
-        log.info("Received GET-request at /items?from={}&size={} endpoint from user id={}", from, size, userId);
+                                                @RequestParam(required = false) Integer size,
+                                                @RequestParam(required = false) String cursor) {
+        log.info("Received GET-request at /items?from={}&size={}&cursor={} endpoint from user id={}",
+                from, size, cursor, userId);
+        if (cursor != null) {
+            CursorPage<ItemDto> page = itemService.getOwnerItemsPage(userId, cursor, size);
+            return ResponseEntity.ok().headers(page.toHeaders()).body(page.getItems());
+        }
         return ResponseEntity.ok().body(itemService.getOwnerItems(userId, from, size));
     }
 
@@ -52,9 +64,14 @@ public class ItemController {
     public ResponseEntity<List<ItemDto>> search(@RequestHeader("X-Sharer-User-Id") long userId,
                                                 @RequestParam String text,
                                                 @RequestParam(required = false) Integer from,
-                                                @RequestParam(required = false) Integer size) {
-        log.info("Received GET-request at /items/search?text={}&from={}&size={} endpoint from user id={}",
-                text, from, size, userId);
+                                                @RequestParam(required = false) Integer size,
+                                                @RequestParam(required = false) String cursor) {
+        log.info("Received GET-request at /items/search?text={}&from={}&size={}&cursor={} endpoint from user id={}",
+                text, from, size, cursor, userId);
+        if (cursor != null) {
+            CursorPage<ItemDto> page = itemService.searchPage(userId, text, cursor, size);
+            return ResponseEntity.ok().headers(page.toHeaders()).body(page.getItems());
+        }
         return ResponseEntity.ok().body(itemService.search(userId, text, from, size));
     }
 
@@ -66,4 +83,20 @@ public class ItemController {
         return ResponseEntity.ok().body(itemService.addComment(userId, itemId, commentDto));
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<AvailabilityDto> getAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                           @PathVariable long itemId,
+                                                           @RequestParam(required = false)
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                           LocalDateTime from,
+                                                           @RequestParam(required = false)
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                           LocalDateTime to) {
+        log.info("Received GET-request at /items/{}/availability?from={}&to={} endpoint from user id={}",
+                itemId, from, to, userId);
+        LocalDateTime periodStart = from != null ? from : LocalDateTime.now();
+        LocalDateTime periodEnd = to != null ? to : periodStart.plusDays(DEFAULT_AVAILABILITY_DAYS);
+        return ResponseEntity.ok().body(itemService.getAvailability(userId, itemId, periodStart, periodEnd));
+    }
+
 }
\ No newline at end of file
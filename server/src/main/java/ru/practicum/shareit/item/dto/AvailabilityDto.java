@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class AvailabilityDto {
+
+    private long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<IntervalDto> busy;
+    private List<IntervalDto> free;
+
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntervalDto {
+
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private Long bookingId;
+    private BookingStatus status;
+
+}
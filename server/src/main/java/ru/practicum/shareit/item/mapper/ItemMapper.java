@@ -4,6 +4,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 
 @Mapper(componentModel = "spring")
@@ -16,4 +17,6 @@ public interface ItemMapper {
 
     Item toItem(ItemDto itemDto);
 
+    ItemDto toItemDto(ItemView itemView);
+
 }
\ No newline at end of file
@@ -37,6 +37,9 @@ public class Item {
     @ToString.Exclude
     private ItemRequest request;
 
+    @Version
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,14 +1,22 @@
 package ru.practicum.shareit.item.repo;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = {"author"})
     List<Comment> findAllByItemId(long itemId);
 
+    @Query(" select c from Comment c join fetch c.author " +
+            "where c.item.id in ?1")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
+
 }
\ No newline at end of file
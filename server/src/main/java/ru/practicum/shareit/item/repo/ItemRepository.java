@@ -1,31 +1,76 @@
 package ru.practicum.shareit.item.repo;
 
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    List<Item> findAllByOwnerId(long userId, Sort sort);
+    String SELECT_ITEM_VIEW = " select i.id as id, i.name as name, i.description as description, " +
+            "i.available as available, i.request.id as requestId from Item i ";
 
-    List<Item> findAllByOwnerId(long userId, Pageable pageable);
+    char LIKE_ESCAPE = '!';
 
-    @Query(" select i from Item i " +
-            "where i.available = true and (upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%')))")
-    List<Item> search(String text);
+    String NAME_MATCH = "upper(i.name) like upper(concat('%', ?1, '%')) escape '!'";
 
-    @Query(" select i from Item i " +
-            "where i.available = true and (upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%')))")
-    List<Item> search(String text, Pageable pageable);
+    String DESCRIPTION_MATCH = "upper(i.description) like upper(concat('%', ?1, '%')) escape '!'";
 
-    List<Item> findAllByRequestId(long id);
+    String SEARCH_CONDITION = "i.available = true and (" + NAME_MATCH + " or " + DESCRIPTION_MATCH + ") ";
 
-}
\ No newline at end of file
+    String SEARCH_RANK = "case when " + NAME_MATCH + " then 0 else 1 end";
+
+    String SELECT_ITEM_SEARCH_VIEW = " select i.id as id, i.name as name, i.description as description, " +
+            "i.available as available, i.request.id as requestId, " + SEARCH_RANK + " as searchRank from Item i ";
+
+    @Query(SELECT_ITEM_VIEW +
+            "where i.owner.id = ?1 order by i.id")
+    List<ItemView> findAllByOwnerId(long userId);
+
+    @Query(SELECT_ITEM_VIEW +
+            "where i.owner.id = ?1 order by i.id")
+    List<ItemView> findAllByOwnerId(long userId, Pageable pageable);
+
+    @Query(SELECT_ITEM_VIEW +
+            "where i.owner.id = ?1 and i.id > ?2 order by i.id")
+    List<ItemView> findAllByOwnerIdAndIdGreaterThan(long userId, long id, Pageable pageable);
+
+    @Query(SELECT_ITEM_SEARCH_VIEW +
+            "where " + SEARCH_CONDITION +
+            "order by " + SEARCH_RANK + ", i.id")
+    List<ItemSearchView> search(String text);
+
+    @Query(SELECT_ITEM_SEARCH_VIEW +
+            "where " + SEARCH_CONDITION +
+            "order by " + SEARCH_RANK + ", i.id")
+    List<ItemSearchView> search(String text, Pageable pageable);
+
+    @Query(SELECT_ITEM_SEARCH_VIEW +
+            "where i.available = true and " + NAME_MATCH + " and i.id > ?2 order by i.id")
+    List<ItemSearchView> searchByNameAfter(String text, long id, Pageable pageable);
+
+    @Query(SELECT_ITEM_SEARCH_VIEW +
+            "where i.available = true and not (" + NAME_MATCH + ") and " + DESCRIPTION_MATCH + " " +
+            "and i.id > ?2 order by i.id")
+    List<ItemSearchView> searchByDescriptionAfter(String text, long id, Pageable pageable);
+
+    @Query(SELECT_ITEM_VIEW +
+            "where i.request.id = ?1")
+    List<ItemView> findAllByRequestId(long id);
+
+    @Query(SELECT_ITEM_VIEW +
+            "where i.request.id in ?1")
+    List<ItemView> findAllByRequestIdIn(Collection<Long> ids);
+
+    @Query("select i.owner.id from Item i where i.id = ?1")
+    Optional<Long> findOwnerIdById(long itemId);
+
+}
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -17,6 +20,12 @@ public interface ItemService {
 
     List<ItemDto> search(long userId, String text, Integer from, Integer size);
 
+    CursorPage<ItemDto> getOwnerItemsPage(long userId, String cursor, Integer size);
+
+    CursorPage<ItemDto> searchPage(long userId, String text, String cursor, Integer size);
+
     CommentDto addComment(long userId, long itemId, CommentDto commentDto);
 
+    AvailabilityDto getAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to);
+
 }
\ No newline at end of file
@@ -4,22 +4,31 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
+import ru.practicum.shareit.booking.calendar.BookingIntervals;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repo.BookingRepository;
 import ru.practicum.shareit.enums.BookingStatus;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.IntervalDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.CommentRepository;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repo.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -27,20 +36,32 @@ import ru.practicum.shareit.user.repo.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
 
+    private static final Comparator<Booking> LAST_BOOKING_ORDER =
+            Comparator.comparing(Booking::getEnd).thenComparing(Booking::getId);
+    private static final Comparator<Booking> NEXT_BOOKING_ORDER =
+            Comparator.comparing(Booking::getStart).thenComparing(Booking::getId);
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final AvailabilityCalendar availabilityCalendar;
 
     @Autowired
     private ItemMapper itemMapper;
@@ -50,6 +71,7 @@ public class ItemServiceImpl implements ItemService {
     private CommentMapper commentMapper;
 
     @Override
+    @Transactional
     public ItemDto addNewItem(long userId, ItemDto itemDto) {
         validate(itemDto);
         Item item = itemMapper.toItem(itemDto);
@@ -88,6 +110,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional
     public ItemDto updateItem(long userId, long itemId, ItemDto itemDto) {
         Optional<Item> optionalItem = itemRepository.findById(itemId);
         if (optionalItem.isEmpty()) {
@@ -136,12 +159,12 @@ public class ItemServiceImpl implements ItemService {
 
     private void addBookings(ItemDto itemDto) {
         long itemId = itemDto.getId();
-        Optional<Booking> lastBooking = bookingRepository.findFirst1ByItemIdIsAndStartIsBeforeAndStatusIsOrderByEndDesc(
+        Optional<Booking> lastBooking = bookingRepository.findFirst1ByItemIdIsAndStartIsBeforeAndStatusIsOrderByEndDescIdDesc(
                 itemId,
                 LocalDateTime.now(),
                 BookingStatus.APPROVED);
         itemDto.setLastBooking(bookingMapper.toBookingForItemDto(lastBooking.orElse(null)));
-        Optional<Booking> nextBooking = bookingRepository.findFirst1ByItemIdIsAndStartIsAfterAndStatusIsOrderByStartAsc(
+        Optional<Booking> nextBooking = bookingRepository.findFirst1ByItemIdIsAndStartIsAfterAndStatusIsOrderByStartAscIdAsc(
                 itemId,
                 LocalDateTime.now(),
                 BookingStatus.APPROVED);
@@ -159,36 +182,77 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemDto> getOwnerItems(long userId, Integer from, Integer size) {
-        List<Item> ownerItems;
+        List<ItemView> ownerItems;
         if (from != null && size != null) {
             validateSearchParameters(from, size);
-            ownerItems = itemRepository.findAllByOwnerId(userId, PageRequest.of(from / size, size, Sort.by("id")));
+            ownerItems = itemRepository.findAllByOwnerId(userId, PageRequest.of(from / size, size));
         } else {
-            ownerItems = itemRepository.findAllByOwnerId(userId, Sort.by("id"));
-        }
-        List<ItemDto> listItemDto = new ArrayList<>();
-        for (Item item : ownerItems) {
-            ItemDto itemDto = itemMapper.toItemDto(item);
-            if (item.getOwner().getId().equals(userId)) {
-                addBookings(itemDto);
-            }
-            addComments(itemDto);
-            listItemDto.add(itemDto);
+            ownerItems = itemRepository.findAllByOwnerId(userId);
         }
+        List<ItemDto> listItemDto = ownerItems.stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
+        addBookingsAndComments(listItemDto);
         return listItemDto;
     }
 
+    @Override
+    public CursorPage<ItemDto> getOwnerItemsPage(long userId, String cursor, Integer size) {
+        validatePageSize(size);
+        long afterId = cursor.isEmpty() ? 0 : PageCursor.decode(cursor).getId();
+        List<ItemDto> listItemDto = itemRepository.findAllByOwnerIdAndIdGreaterThan(userId, afterId,
+                        PageRequest.of(0, size))
+                .stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
+        addBookingsAndComments(listItemDto);
+        return CursorPage.of(listItemDto, size, itemDto -> PageCursor.of(itemDto.getId()));
+    }
+
+    private void addBookingsAndComments(List<ItemDto> listItemDto) {
+        if (listItemDto.isEmpty()) {
+            return;
+        }
+        Set<Long> itemIds = listItemDto.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toSet());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = groupByItemId(
+                bookingRepository.findLastBookingsByItemIds(itemIds, now, BookingStatus.APPROVED),
+                BinaryOperator.maxBy(LAST_BOOKING_ORDER));
+        Map<Long, Booking> nextBookings = groupByItemId(
+                bookingRepository.findNextBookingsByItemIds(itemIds, now, BookingStatus.APPROVED),
+                BinaryOperator.minBy(NEXT_BOOKING_ORDER));
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::toCommentDto, Collectors.toList())));
+        for (ItemDto itemDto : listItemDto) {
+            long itemId = itemDto.getId();
+            itemDto.setLastBooking(bookingMapper.toBookingForItemDto(lastBookings.get(itemId)));
+            itemDto.setNextBooking(bookingMapper.toBookingForItemDto(nextBookings.get(itemId)));
+            itemDto.setComments(comments.getOrDefault(itemId, new ArrayList<>()));
+        }
+    }
+
+    private Map<Long, Booking> groupByItemId(List<Booking> bookings, BinaryOperator<Booking> tieBreak) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(),
+                        Function.identity(),
+                        tieBreak));
+    }
+
     @Override
     public List<ItemDto> search(long userId, String text, Integer from, Integer size) {
         if (text.isBlank()) {
             return new ArrayList<>();
         }
-        List<Item> foundItems;
+        List<ItemSearchView> foundItems;
         if (from != null && size != null) {
             validateSearchParameters(from, size);
-            foundItems = itemRepository.search(text, PageRequest.of(from / size, size));
+            foundItems = itemRepository.search(escapeLike(text), PageRequest.of(from / size, size));
         } else {
-            foundItems = itemRepository.search(text);
+            foundItems = itemRepository.search(escapeLike(text));
         }
         return foundItems
                 .stream()
@@ -196,6 +260,49 @@ public class ItemServiceImpl implements ItemService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<ItemDto> searchPage(long userId, String text, String cursor, Integer size) {
+        validatePageSize(size);
+        if (text.isBlank()) {
+            return CursorPage.of(new ArrayList<>(), size, itemDto -> PageCursor.of(itemDto.getId()));
+        }
+        String pattern = escapeLike(text);
+        int rank = 0;
+        long afterId = 0;
+        if (!cursor.isEmpty()) {
+            PageCursor after = PageCursor.decode(cursor);
+            rank = after.getKeyAsInt();
+            afterId = after.getId();
+        }
+        if (rank < 0 || rank > 1) {
+            throw new ValidationException();
+        }
+        // Совпадения по названию и по описанию листаются отдельно по id, чтобы страница читалась по индексу,
+        // а не сортировала все найденные вещи по рангу
+        List<ItemSearchView> foundItems = new ArrayList<>();
+        if (rank == 0) {
+            foundItems.addAll(itemRepository.searchByNameAfter(pattern, afterId, PageRequest.of(0, size)));
+            afterId = 0;
+        }
+        if (foundItems.size() < size) {
+            foundItems.addAll(itemRepository.searchByDescriptionAfter(pattern, afterId,
+                    PageRequest.of(0, size - foundItems.size())));
+        }
+        CursorPage<ItemSearchView> page = CursorPage.of(foundItems, size,
+                view -> new PageCursor(String.valueOf(view.getSearchRank()), view.getId()));
+        List<ItemDto> listItemDto = foundItems.stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
+        return new CursorPage<>(listItemDto, page.getNextCursor());
+    }
+
+    private static String escapeLike(String text) {
+        String escape = String.valueOf(ItemRepository.LIKE_ESCAPE);
+        return text.replace(escape, escape + escape)
+                .replace("%", escape + "%")
+                .replace("_", escape + "_");
+    }
+
     private Item findItem(long itemId) {
         if (itemId == 0) {
             throw new ValidationException();
@@ -208,6 +315,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional
     public CommentDto addComment(long userId, long itemId, CommentDto commentDto) {
         User author = findUser(userId);
         Item item = findItem(itemId);
@@ -237,6 +345,53 @@ public class ItemServiceImpl implements ItemService {
         return commentMapper.toCommentDto(savedComment);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AvailabilityDto getAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            log.info("Начало периода {} должно быть раньше его окончания {}", from, to);
+            throw new ValidationException();
+        }
+        if (userId == 0 || itemId == 0) {
+            throw new ValidationException();
+        }
+        BookingIntervals calendar = availabilityCalendar.get(itemId);
+        boolean isOwner = calendar.getOwnerId() == userId;
+        if (!isOwner && !userRepository.existsById(userId)) {
+            log.info("Не найден пользователь с id={}", userId);
+            throw new NotFoundException();
+        }
+        List<BookingIntervals.Interval> busy = calendar.findOverlapping(from, to);
+        List<IntervalDto> free = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (BookingIntervals.Interval interval : busy) {
+            if (interval.getStart().isAfter(freeFrom)) {
+                free.add(IntervalDto.builder().start(freeFrom).end(interval.getStart()).build());
+            }
+            if (interval.getEnd().isAfter(freeFrom)) {
+                freeFrom = interval.getEnd();
+            }
+        }
+        if (freeFrom.isBefore(to)) {
+            free.add(IntervalDto.builder().start(freeFrom).end(to).build());
+        }
+        log.info("Для вещи с id={} в период с {} по {} найдено {} бронирований", itemId, from, to, busy.size());
+        return AvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(busy.stream()
+                        .map(interval -> IntervalDto.builder()
+                                .start(interval.getStart())
+                                .end(interval.getEnd())
+                                .bookingId(isOwner ? interval.getBookingId() : null)
+                                .status(isOwner ? interval.getStatus() : null)
+                                .build())
+                        .collect(Collectors.toList()))
+                .free(free)
+                .build();
+    }
+
     private User findUser(long userId) {
         if (userId == 0) {
             throw new ValidationException();
@@ -258,4 +413,11 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-}
\ No newline at end of file
+    private void validatePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            log.info("Параметр запроса 'size' должен быть больше 0, указано значение {}", size);
+            throw new ValidationException();
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public static <T> CursorPage<T> of(List<T> items, int size, Function<T, PageCursor> cursorExtractor) {
+        if (items.size() < size) {
+            return new CursorPage<>(items, null);
+        }
+        return new CursorPage<>(items, cursorExtractor.apply(items.get(items.size() - 1)).encode());
+    }
+
+    public HttpHeaders toHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor != null) {
+            headers.set(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return headers;
+    }
+
+}
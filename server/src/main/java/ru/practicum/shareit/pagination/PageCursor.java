@@ -0,0 +1,65 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Data
+@AllArgsConstructor
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String key;
+    private final long id;
+
+    public static PageCursor of(LocalDateTime key, long id) {
+        return new PageCursor(key.toString(), id);
+    }
+
+    public static PageCursor of(long id) {
+        return new PageCursor("", id);
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = value.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new ValidationException();
+            }
+            return new PageCursor(value.substring(0, separatorIndex),
+                    Long.parseLong(value.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException();
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException();
+        }
+    }
+
+    public int getKeyAsInt() {
+        try {
+            return Integer.parseInt(key);
+        } catch (NumberFormatException e) {
+            throw new ValidationException();
+        }
+    }
+
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -41,8 +42,14 @@ public class ItemRequestController {
     @GetMapping("/all")
     public ResponseEntity<List<ItemRequestDto>> search(@RequestHeader("X-Sharer-User-Id") long userId,
                                                        @RequestParam(required = false) Integer from,
-                                                       @RequestParam(required = false) Integer size) {
-        log.info("Received GET-request at /requests/all?from={}&size={} endpoint from user id={}", from, size, userId);
+                                                       @RequestParam(required = false) Integer size,
+                                                       @RequestParam(required = false) String cursor) {
+        log.info("Received GET-request at /requests/all?from={}&size={}&cursor={} endpoint from user id={}",
+                from, size, cursor, userId);
+        if (cursor != null) {
+            CursorPage<ItemRequestDto> page = itemRequestService.searchPage(userId, cursor, size);
+            return ResponseEntity.ok().headers(page.toHeaders()).body(page.getItems());
+        }
         return ResponseEntity.ok().body(itemRequestService.search(userId, from, size));
     }
 
@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestView;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 @Mapper(componentModel = "spring")
@@ -12,6 +13,8 @@ public interface ItemRequestMapper {
 
     ItemRequestDto toItemRequestDto(ItemRequest itemRequest);
 
+    ItemRequestDto toItemRequestDto(ItemRequestView itemRequestView);
+
     ItemRequest toItemRequest(ItemRequestDto itemRequestDto);
 
 }
\ No newline at end of file
@@ -1,25 +1,40 @@
 package ru.practicum.shareit.request.repo;
 
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.request.dto.ItemRequestView;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> findAllByRequestorId(long userId, Sort sort);
+    String SELECT_ITEM_REQUEST_VIEW = " select r.id as id, r.description as description, r.created as created " +
+            "from ItemRequest r ";
 
-    @Query(" select r from ItemRequest r " +
-            "where r.requestor.id <> ?1")
-    List<ItemRequest> findAllByOtherRequestors(long userId, Pageable pageable);
+    @Query(SELECT_ITEM_REQUEST_VIEW +
+            "where r.requestor.id = ?1 " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequestView> findAllByRequestorId(long userId);
 
-    @Query(" select r from ItemRequest r " +
-            "where r.requestor.id <> ?1")
-    List<ItemRequest> findAllByOtherRequestors(long userId, Sort sort);
+    @Query(SELECT_ITEM_REQUEST_VIEW +
+            "where r.requestor.id <> ?1 " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequestView> findAllByOtherRequestors(long userId, Pageable pageable);
 
-}
\ No newline at end of file
+    @Query(SELECT_ITEM_REQUEST_VIEW +
+            "where r.requestor.id <> ?1 " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequestView> findAllByOtherRequestors(long userId);
+
+    @Query(SELECT_ITEM_REQUEST_VIEW +
+            "where r.requestor.id <> ?1 and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequestView> findAllByOtherRequestorsAfter(long userId, LocalDateTime created, long id,
+                                                        Pageable pageable);
+
+}
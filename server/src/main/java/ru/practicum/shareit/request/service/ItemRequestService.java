@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestShortDto;
 
@@ -15,4 +16,6 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> search(long userId, Integer from, Integer size);
 
+    CursorPage<ItemRequestDto> searchPage(long userId, String cursor, Integer size);
+
 }
\ No newline at end of file
@@ -4,16 +4,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.mapper.ItemMapper;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.request.dto.ItemRequestView;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repo.ItemRequestRepository;
@@ -21,13 +24,17 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
@@ -40,6 +47,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private ItemMapper itemMapper;
 
     @Override
+    @Transactional
     public ItemRequestDto create(long userId, ItemRequestShortDto itemRequestShortDto) {
         User owner = findUser(userId);
         validate(itemRequestShortDto);
@@ -56,13 +64,12 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestDto> getAll(long userId) {
         User owner = findUser(userId);
-        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestorId(owner.getId(),
-                getSortByCreatedForItemRequests());
+        List<ItemRequestView> itemRequests = itemRequestRepository.findAllByRequestorId(owner.getId());
         log.info("Найдено {} запросов от пользователя с id={}", itemRequests.size(), owner.getId());
         List<ItemRequestDto> itemRequestsDto = itemRequests.stream()
                 .map(itemRequestMapper::toItemRequestDto)
                 .collect(Collectors.toList());
-        itemRequestsDto.forEach(this::addItems);
+        addItems(itemRequestsDto);
         return itemRequestsDto;
     }
 
@@ -83,23 +90,46 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestDto> search(long userId, Integer from, Integer size) {
         User owner = findUser(userId);
-        List<ItemRequest> itemRequests;
+        List<ItemRequestView> itemRequests;
         if (from != null && size != null) {
             validateSearchParameters(from, size);
             itemRequests = itemRequestRepository.findAllByOtherRequestors(owner.getId(),
-                    PageRequest.of(from / size, size, getSortByCreatedForItemRequests()));
+                    PageRequest.of(from / size, size));
         } else {
-            itemRequests = itemRequestRepository.findAllByOtherRequestors(owner.getId(),
-                    getSortByCreatedForItemRequests());
+            itemRequests = itemRequestRepository.findAllByOtherRequestors(owner.getId());
         }
         log.info("Найдено {} других запросов для пользователя с id={}", itemRequests.size(), owner.getId());
         List<ItemRequestDto> itemRequestsDto = itemRequests.stream()
                 .map(itemRequestMapper::toItemRequestDto)
                 .collect(Collectors.toList());
-        itemRequestsDto.forEach(this::addItems);
+        addItems(itemRequestsDto);
         return itemRequestsDto;
     }
 
+    @Override
+    public CursorPage<ItemRequestDto> searchPage(long userId, String cursor, Integer size) {
+        User owner = findUser(userId);
+        if (size == null || size <= 0) {
+            log.info("Параметр запроса 'size' должен быть больше 0, указано значение {}", size);
+            throw new ValidationException();
+        }
+        List<ItemRequestView> itemRequests;
+        if (cursor.isEmpty()) {
+            itemRequests = itemRequestRepository.findAllByOtherRequestors(owner.getId(), PageRequest.of(0, size));
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            itemRequests = itemRequestRepository.findAllByOtherRequestorsAfter(owner.getId(),
+                    after.getKeyAsDateTime(), after.getId(), PageRequest.of(0, size));
+        }
+        log.info("Найдено {} других запросов для пользователя с id={}", itemRequests.size(), owner.getId());
+        List<ItemRequestDto> itemRequestsDto = itemRequests.stream()
+                .map(itemRequestMapper::toItemRequestDto)
+                .collect(Collectors.toList());
+        addItems(itemRequestsDto);
+        return CursorPage.of(itemRequestsDto, size,
+                itemRequestDto -> PageCursor.of(itemRequestDto.getCreated(), itemRequestDto.getId()));
+    }
+
     private User findUser(long userId) {
         if (userId == 0) {
             throw new ValidationException();
@@ -140,15 +170,26 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private void addItems(ItemRequestDto itemRequestDto) {
-        List<Item> requestItems = itemRepository.findAllByRequestId(itemRequestDto.getId());
+        List<ItemView> requestItems = itemRepository.findAllByRequestId(itemRequestDto.getId());
         List<ItemDto> itemsDto = requestItems.stream()
                 .map(itemMapper::toItemDto)
                 .collect(Collectors.toList());
         itemRequestDto.setItems(itemsDto);
     }
 
-    private Sort getSortByCreatedForItemRequests() {
-        return Sort.by("created").descending();
+    private void addItems(List<ItemRequestDto> itemRequestsDto) {
+        if (itemRequestsDto.isEmpty()) {
+            return;
+        }
+        Set<Long> requestIds = itemRequestsDto.stream()
+                .map(ItemRequestDto::getId)
+                .collect(Collectors.toSet());
+        Map<Long, List<ItemDto>> itemsByRequestId = itemRepository.findAllByRequestIdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(ItemView::getRequestId,
+                        Collectors.mapping(itemMapper::toItemDto, Collectors.toList())));
+        itemRequestsDto.forEach(itemRequestDto -> itemRequestDto.setItems(
+                itemsByRequestId.getOrDefault(itemRequestDto.getId(), new ArrayList<>())));
     }
 
 }
\ No newline at end of file
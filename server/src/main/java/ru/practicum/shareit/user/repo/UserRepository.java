@@ -6,4 +6,7 @@ import ru.practicum.shareit.user.model.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    boolean existsByEmailAndIdNot(String email, long id);
+
 }
\ No newline at end of file
@@ -3,7 +3,9 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -19,6 +21,7 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
@@ -32,6 +35,7 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public UserDto create(UserDto userDto) {
         User user = userMapper.toUser(userDto);
         validateToCreate(user);
@@ -52,16 +56,22 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Transactional
     public UserDto update(long userId, UserDto userDto) {
         User user = findUser(userId);
+        validateToUpdate(userId, userDto);
         if (userDto.getName() != null) {
             user.setName(userDto.getName());
         }
         if (userDto.getEmail() != null) {
             user.setEmail(userDto.getEmail());
         }
-        validateToUpdate(userId, user);
-        return userMapper.toUserDto(userRepository.save(user));
+        try {
+            return userMapper.toUserDto(userRepository.saveAndFlush(user));
+        } catch (DataIntegrityViolationException e) {
+            log.info("При обновлении пользователя {} нарушено ограничение уникальности почты", user);
+            throw new ConflictException();
+        }
     }
 
     private User findUser(long userId) {
@@ -75,20 +85,15 @@ public class UserServiceImpl implements UserService {
         return user.get();
     }
 
-    private void validateToUpdate(long userId, User user) {
-        String email = user.getEmail();
+    private void validateToUpdate(long userId, UserDto userDto) {
+        String email = userDto.getEmail();
         if (email != null && !email.contains("@")) {
-            log.info("У пользователя {} указана неверная электронная почта", user);
+            log.info("У пользователя {} указана неверная электронная почта", userDto);
             throw new ValidationException();
         }
-        List<User> users = getAll().stream().map(userMapper::toUser).collect(Collectors.toList());
-        for (User userToCheck : users) {
-            if (userToCheck.getId() != userId && userToCheck.getEmail().equals(email)) {
-                log.info("В системе уже есть пользователь c id {} с такой же почтой {}",
-                        userToCheck.getId(),
-                        userToCheck.getEmail());
-                throw new ConflictException();
-            }
+        if (email != null && userRepository.existsByEmailAndIdNot(email, userId)) {
+            log.info("В системе уже есть другой пользователь с такой же почтой {}", email);
+            throw new ConflictException();
         }
     }
 
@@ -103,6 +108,7 @@ public class UserServiceImpl implements UserService {
         return userMapper.toUserDto(user.get());
     }
 
+    @Transactional
     public void deleteUser(long userId) {
         userRepository.deleteById(userId);
     }
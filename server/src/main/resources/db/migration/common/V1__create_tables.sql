@@ -38,18 +38,3 @@ CREATE TABLE IF NOT EXISTS bookings (
   status VARCHAR(50),
   CONSTRAINT pk_booking PRIMARY KEY (id)
 );
-
-DELETE FROM comments;
-ALTER TABLE comments ALTER COLUMN id RESTART WITH 1;
-
-DELETE FROM requests;
-ALTER TABLE requests ALTER COLUMN id RESTART WITH 1;
-
-DELETE FROM bookings;
-ALTER TABLE bookings ALTER COLUMN id RESTART WITH 1;
-
-DELETE FROM items;
-ALTER TABLE items ALTER COLUMN id RESTART WITH 1;
-
-DELETE FROM users;
-ALTER TABLE users ALTER COLUMN id RESTART WITH 1;
\ No newline at end of file
@@ -0,0 +1,7 @@
+CREATE INDEX IF NOT EXISTS ix_requests_requestor_created ON requests (requestor_id, created_date DESC);
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (owner_id);
+CREATE INDEX IF NOT EXISTS ix_items_request ON items (request_id);
+CREATE INDEX IF NOT EXISTS ix_comments_item ON comments (item_id);
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_end ON bookings (booker_id, end_date DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_start ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_end ON bookings (item_id, end_date DESC);
@@ -0,0 +1 @@
+-- H2 has no trigram indexes, item search falls back to a plain scan here.
@@ -0,0 +1 @@
+-- H2 has no exclusion constraints, overlaps are rejected by the indexed check in BookingServiceImpl here.
@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_items_name_trgm ON items USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_items_description_trgm ON items USING gin (upper(description) gin_trgm_ops);
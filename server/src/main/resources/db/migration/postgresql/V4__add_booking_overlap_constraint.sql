@@ -0,0 +1,5 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+  EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date, '[)') WITH &&)
+  WHERE (status IN ('WAITING', 'APPROVED'));
@@ -0,0 +1,203 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.enums.BookingRole;
+import ru.practicum.shareit.enums.BookingState;
+import ru.practicum.shareit.enums.BookingStatus;
+import ru.practicum.shareit.item.repo.CommentRepository;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.request.repo.ItemRequestRepository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "ru.practicum.shareit.LookupIndexUsageDataJpaTest$CapturedStatements",
+        "spring.jpa.properties.hibernate.use_sql_comments=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class LookupIndexUsageDataJpaTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("insert into users (name, email) " +
+                    "select 'user ' || g, 'user' || g || '@mail.ru' from generate_series(1, 500) g");
+            statement.execute("insert into requests (description, requestor_id, created_date) " +
+                    "select 'request ' || g, g % 500 + 1, timestamp '2024-01-01' + g * interval '1 hour' " +
+                    "from generate_series(1, 5000) g");
+            statement.execute("insert into items (name, description, is_available, owner_id, request_id) " +
+                    "select 'item ' || g, 'description ' || g, true, g % 500 + 1, " +
+                    "case when g % 2 = 0 then g / 2 end from generate_series(1, 5000) g");
+            statement.execute("insert into comments (text, item_id, author_id, created_date) " +
+                    "select 'comment ' || g, g % 5000 + 1, g % 500 + 1, timestamp '2024-01-01' " +
+                    "from generate_series(1, 20000) g");
+            statement.execute("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                    "select timestamp '2024-01-01' + g * interval '1 hour', " +
+                    "timestamp '2024-01-01' + g * interval '1 hour' + interval '30 minutes', " +
+                    "g % 5000 + 1, g % 500 + 1, " +
+                    "(array['WAITING', 'APPROVED', 'REJECTED'])[g % 3 + 1] " +
+                    "from generate_series(1, 50000) g");
+            statement.execute("analyze");
+        }
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        CapturedStatements.STATEMENTS.clear();
+    }
+
+    @Test
+    void bookerBookingsUseBookerEndIndex() throws SQLException {
+        bookingRepository.findAllByState(7, BookingRole.BOOKER, BookingState.ALL, NOW,
+                PageRequest.of(0, 10, Sort.by("end").descending()));
+
+        assertThat(explainLastStatement()).contains("ix_bookings_booker_end");
+    }
+
+    @Test
+    void ownerBookingsUseOwnerIndex() throws SQLException {
+        bookingRepository.findAllByState(7, BookingRole.OWNER, BookingState.ALL, NOW,
+                PageRequest.of(0, 10, Sort.by("end").descending()));
+
+        assertThat(explainLastStatement()).contains("ix_items_owner");
+    }
+
+    @Test
+    void nextBookingOfItemUsesItemStatusStartIndex() throws SQLException {
+        bookingRepository.findFirst1ByItemIdIsAndStartIsAfterAndStatusIsOrderByStartAscIdAsc(7, NOW,
+                BookingStatus.APPROVED);
+
+        assertThat(explainLastStatement()).contains("ix_bookings_item_status_start");
+    }
+
+    @Test
+    void finishedBookingOfBookerUsesItemEndIndex() throws SQLException {
+        bookingRepository.findFirst1ByItemIdAndBookerIdAndEndIsBefore(7, 7, NOW);
+
+        assertThat(explainLastStatement()).contains("ix_bookings_item_end");
+    }
+
+    @Test
+    void requestorRequestsUseRequestorCreatedIndex() throws SQLException {
+        itemRequestRepository.findAllByRequestorId(7);
+
+        assertThat(explainLastStatement()).contains("ix_requests_requestor_created");
+    }
+
+    @Test
+    void requestItemsUseRequestIndex() throws SQLException {
+        itemRepository.findAllByRequestIdIn(List.of(7L, 8L, 9L));
+
+        assertThat(explainLastStatement()).contains("ix_items_request");
+    }
+
+    @Test
+    void itemCommentsUseItemIndex() throws SQLException {
+        commentRepository.findAllByItemId(7);
+
+        assertThat(explainLastStatement()).contains("ix_comments_item");
+    }
+
+    // План строится без значений параметров, как для подготовленного запроса Hibernate
+    private static String explainLastStatement() throws SQLException {
+        List<String> statements = CapturedStatements.STATEMENTS;
+        assertThat(statements).isNotEmpty();
+        String sql = statements.get(statements.size() - 1);
+        StringBuilder prepared = new StringBuilder();
+        StringJoiner arguments = new StringJoiner(", ", "(", ")").setEmptyValue("");
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameter);
+                arguments.add("null");
+            } else {
+                prepared.append(c);
+            }
+        }
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("set plan_cache_mode = force_generic_plan");
+            statement.execute("prepare lookup as " + prepared);
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery("explain execute lookup" + arguments)) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    public static class CapturedStatements implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+
+    }
+
+}
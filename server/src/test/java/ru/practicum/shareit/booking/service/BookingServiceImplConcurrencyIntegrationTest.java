@@ -0,0 +1,139 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingFromUserDto;
+import ru.practicum.shareit.enums.BookingStatus;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingServiceImplConcurrencyIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int BOOKINGS = 10;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+
+    private ExecutorService executor;
+    private long ownerId;
+    private long bookerId;
+    private long itemId;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        ownerId = createUser("owner").getId();
+        bookerId = createUser("booker").getId();
+        itemId = itemService.addNewItem(ownerId, ItemDto.builder()
+                .name("Дрель")
+                .description("Ударная дрель")
+                .available(true)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentApprovalsOfWaitingBookingHaveSingleWinner() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            long bookingId = bookingService.addNewBooking(bookerId, BookingFromUserDto.builder()
+                    .itemId(itemId)
+                    .start(start.plusDays(i * 2L))
+                    .end(start.plusDays(i * 2L + 1))
+                    .build()).getId();
+            String approved = i % 2 == 0 ? "true" : "false";
+            BookingStatus expectedStatus = i % 2 == 0 ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+
+            List<Outcome> outcomes = runConcurrently(bookingId, approved);
+
+            List<BookingDto> winners = new ArrayList<>();
+            for (Outcome outcome : outcomes) {
+                if (outcome.result != null) {
+                    winners.add(outcome.result);
+                } else {
+                    assertThat(outcome.error).isInstanceOfAny(ValidationException.class, ConflictException.class);
+                }
+            }
+            assertThat(winners).hasSize(1);
+            assertThat(winners.get(0).getStatus()).isEqualTo(expectedStatus);
+            assertThat(bookingService.getBooking(ownerId, bookingId).getStatus()).isEqualTo(expectedStatus);
+        }
+    }
+
+    private List<Outcome> runConcurrently(long bookingId, String approved) throws Exception {
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Outcome>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> decide(bookingId, approved, ready, go)));
+        }
+        ready.await();
+        go.countDown();
+        List<Outcome> outcomes = new ArrayList<>();
+        for (Future<Outcome> future : futures) {
+            outcomes.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return outcomes;
+    }
+
+    private Outcome decide(long bookingId, String approved, CountDownLatch ready, CountDownLatch go)
+            throws InterruptedException {
+        ready.countDown();
+        go.await();
+        try {
+            return new Outcome(bookingService.updateBooking(ownerId, bookingId, approved), null);
+        } catch (RuntimeException e) {
+            return new Outcome(null, e);
+        }
+    }
+
+    private UserDto createUser(String name) {
+        return userService.create(UserDto.builder()
+                .name(name)
+                .email(name + "-" + UUID.randomUUID() + "@mail.ru")
+                .build());
+    }
+
+    private static class Outcome {
+
+        private final BookingDto result;
+        private final RuntimeException error;
+
+        Outcome(BookingDto result, RuntimeException error) {
+            this.result = result;
+            this.error = error;
+        }
+
+    }
+
+}
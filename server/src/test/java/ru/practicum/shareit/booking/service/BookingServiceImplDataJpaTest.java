@@ -0,0 +1,125 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.enums.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        BookingServiceImpl.class,
+        AvailabilityCalendar.class,
+        BookingMapperImpl.class,
+        BookingServiceImplDataJpaTest.MetricsConfig.class
+})
+class BookingServiceImplDataJpaTest {
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BookingService bookingService;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = em.persist(User.builder().name("owner").email("owner-" + UUID.randomUUID() + "@mail.ru").build());
+        booker = em.persist(User.builder().name("booker").email("booker-" + UUID.randomUUID() + "@mail.ru").build());
+    }
+
+    @Test
+    void getBookingUsesConstantStatements() {
+        Item item = persistItem("Дрель");
+        Booking booking = persistBooking(item, LocalDateTime.now().plusDays(1), BookingStatus.WAITING);
+
+        long statements = countStatements(() -> {
+            BookingDto dto = bookingService.getBooking(owner.getId(), booking.getId());
+            assertThat(dto.getItem().getName()).isEqualTo("Дрель");
+            assertThat(dto.getBooker().getId()).isEqualTo(booker.getId());
+        });
+
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    void bookingListingDoesNotDependOnNumberOfBookings() {
+        Item item = persistItem("Дрель");
+        persistBooking(item, LocalDateTime.now().plusDays(1), BookingStatus.WAITING);
+        long forOne = countStatements(() ->
+                assertThat(bookingService.getUserBookings(booker.getId(), "ALL", null, null)).hasSize(1));
+
+        for (int i = 0; i < 10; i++) {
+            persistBooking(persistItem("Вещь " + i), LocalDateTime.now().plusDays(3 + i), BookingStatus.WAITING);
+        }
+        long forMany = countStatements(() ->
+                assertThat(bookingService.getUserBookings(booker.getId(), "ALL", null, null)).hasSize(11));
+
+        assertThat(forMany).isEqualTo(forOne);
+    }
+
+    private long countStatements(Runnable action) {
+        em.flush();
+        em.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Item persistItem(String name) {
+        return em.persist(Item.builder()
+                .name(name)
+                .description(name + " в хорошем состоянии")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    private Booking persistBooking(Item item, LocalDateTime start, BookingStatus status) {
+        return em.persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusDays(1))
+                .status(status)
+                .build());
+    }
+
+}
@@ -9,13 +9,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingFromUserDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.enums.BookingRole;
+import ru.practicum.shareit.enums.BookingState;
 import ru.practicum.shareit.enums.BookingStatus;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -31,14 +35,17 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.ThrowableAssert.catchThrowable;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,6 +53,8 @@ import static org.mockito.Mockito.when;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class BookingServiceImplTest {
 
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by("end").descending());
+
     @Autowired
     BookingService bookingService;
 
@@ -87,6 +96,7 @@ public class BookingServiceImplTest {
     private static Booking booking;
     private static Booking anotherBooking;
     private static List<Booking> bookings;
+    private static List<BookingView> bookingViews;
     private static BookingDto bookingDto;
     private static BookingDto anotherBookingDto;
     private static List<BookingDto> bookingsDto;
@@ -95,6 +105,9 @@ public class BookingServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        LocalDateTime bookingDay = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+
         user = User.builder()
                 .id(1L)
                 .name("user")
@@ -167,8 +180,8 @@ public class BookingServiceImplTest {
 
         booking = Booking.builder()
                 .id(1L)
-                .start(LocalDateTime.of(2023, 6, 5, 3, 0, 0))
-                .end(LocalDateTime.of(2023, 6, 5, 6, 0, 0))
+                .start(bookingDay.withHour(3))
+                .end(bookingDay.withHour(6))
                 .item(item)
                 .booker(anotherUser)
                 .status(BookingStatus.WAITING)
@@ -177,14 +190,14 @@ public class BookingServiceImplTest {
 
         bookingFromUser = BookingFromUserDto.builder()
                 .itemId(item.getId())
-                .start(LocalDateTime.of(2023, 6, 5, 3, 0, 0))
-                .end(LocalDateTime.of(2023, 6, 5, 6, 0, 0))
+                .start(bookingDay.withHour(3))
+                .end(bookingDay.withHour(6))
                 .build();
 
         anotherBooking = Booking.builder()
                 .id(2L)
-                .start(LocalDateTime.of(2023, 6, 5, 9, 0, 0))
-                .end(LocalDateTime.of(2023, 6, 5, 12, 0, 0))
+                .start(bookingDay.withHour(9))
+                .end(bookingDay.withHour(12))
                 .item(item)
                 .booker(anotherUser)
                 .status(BookingStatus.WAITING)
@@ -193,11 +206,15 @@ public class BookingServiceImplTest {
 
         anotherBookingFromUser = BookingFromUserDto.builder()
                 .itemId(item.getId())
-                .start(LocalDateTime.of(2023, 6, 5, 9, 0, 0))
-                .end(LocalDateTime.of(2023, 6, 5, 12, 0, 0))
+                .start(bookingDay.withHour(9))
+                .end(bookingDay.withHour(12))
                 .build();
 
         bookings = List.of(booking, anotherBooking);
+        bookingViews = bookings.stream()
+                .map(b -> new BookingView(b.getId(), b.getStart(), b.getEnd(), b.getStatus(), b.getItem().getId(),
+                        b.getItem().getName(), b.getBooker().getId()))
+                .collect(Collectors.toList());
         bookingsDto = List.of(bookingDto, anotherBookingDto);
     }
 
@@ -206,11 +223,11 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
     }
@@ -220,7 +237,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         bookingFromUser.setStart(null);
         bookingFromUser.setEnd(null);
@@ -235,7 +252,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         bookingFromUser.setStart(bookingFromUser.getEnd());
         Throwable thrown = catchThrowable(() -> {
@@ -249,7 +266,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         bookingFromUser.setStart(bookingFromUser.getEnd().plusDays(1));
         Throwable thrown = catchThrowable(() -> {
@@ -263,7 +280,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         bookingFromUser.setStart(LocalDateTime.now().minusDays(1));
         bookingFromUser.setEnd(LocalDateTime.now());
@@ -278,7 +295,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         bookingFromUser.setStart(LocalDateTime.now());
         bookingFromUser.setEnd(LocalDateTime.now().minusDays(1));
@@ -293,7 +310,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         bookingFromUser.setItemId(null);
         Throwable thrown = catchThrowable(() -> {
@@ -307,7 +324,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         item.setAvailable(false);
         Throwable thrown = catchThrowable(() -> {
@@ -321,7 +338,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         Throwable thrown = catchThrowable(() -> {
             bookingService.addNewBooking(user.getId(), bookingFromUser);
@@ -334,12 +351,13 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(booking));
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
+        stubStatusUpdate();
         BookingDto updateBooking = bookingService.updateBooking(user.getId(), booking.getId(), "true");
         savedBooking.setStatus(BookingStatus.APPROVED);
         assertEquals(updateBooking, savedBooking);
@@ -350,7 +368,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
@@ -365,7 +383,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
@@ -380,7 +398,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
@@ -395,12 +413,13 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(booking));
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
+        stubStatusUpdate();
         BookingDto updateBooking = bookingService.updateBooking(user.getId(), booking.getId(), "false");
         savedBooking.setStatus(BookingStatus.REJECTED);
         assertEquals(updateBooking, savedBooking);
@@ -411,12 +430,12 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(booking));
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         booking.setStatus(BookingStatus.APPROVED);
         Throwable thrown = catchThrowable(() -> {
@@ -430,12 +449,12 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(booking));
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         booking.setStatus(BookingStatus.REJECTED);
         Throwable thrown = catchThrowable(() -> {
@@ -449,12 +468,12 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(booking));
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         Throwable thrown = catchThrowable(() -> {
             bookingService.updateBooking(user.getId(), booking.getId(), "none");
@@ -467,7 +486,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
@@ -481,7 +500,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
@@ -495,7 +514,7 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
@@ -513,17 +532,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findAllByBooker(any(), (Pageable) any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.ALL), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getUserBookings(
                 anotherUser.getId(),
                 "ALL",
@@ -537,17 +558,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = null;
         Integer size = null;
-        when(bookingRepository.findAllByBooker(any(), (Sort) any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.ALL), any(),
+                eq(Pageable.unpaged())))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getUserBookings(
                 anotherUser.getId(),
                 "ALL",
@@ -561,17 +584,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findAllByBooker(any(), (Pageable) any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), any(), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
 
         Throwable thrown = catchThrowable(() -> {
             bookingService.getUserBookings(
@@ -588,17 +613,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = -1;
         Integer size = 10;
-        when(bookingRepository.findAllByBooker(any(), (Pageable) any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.ALL), any(),
+                any()))
+                .thenReturn(bookingViews);
 
         Throwable thrown = catchThrowable(() -> {
             bookingService.getUserBookings(
@@ -615,17 +642,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = -1;
-        when(bookingRepository.findAllByBooker(any(), (Pageable) any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.ALL), any(),
+                any()))
+                .thenReturn(bookingViews);
 
         Throwable thrown = catchThrowable(() -> {
             bookingService.getUserBookings(
@@ -642,18 +671,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findByBookerAndStartIsBeforeAndEndIsAfter(any(), any(), any(), (Pageable) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.CURRENT), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getUserBookings(
                 anotherUser.getId(),
                 "CURRENT",
@@ -667,18 +697,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = null;
         Integer size = null;
-        when(bookingRepository.findByBookerAndStartIsBeforeAndEndIsAfter(any(), any(), any(), (Sort) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.CURRENT), any(),
+                eq(Pageable.unpaged())))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getUserBookings(
                 anotherUser.getId(),
                 "CURRENT",
@@ -692,18 +723,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findByBookerAndEndIsBefore(any(), any(), (Pageable) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.PAST), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getUserBookings(
                 anotherUser.getId(),
                 "PAST",
@@ -717,18 +749,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = null;
         Integer size = null;
-        when(bookingRepository.findByBookerAndEndIsBefore(any(), any(), (Sort) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.PAST), any(),
+                eq(Pageable.unpaged())))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getUserBookings(
                 anotherUser.getId(),
                 "PAST",
@@ -742,18 +775,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findByBookerAndStartIsAfter(any(), any(), (Pageable) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.FUTURE), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getUserBookings(
                 anotherUser.getId(),
                 "FUTURE",
@@ -767,18 +801,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = null;
         Integer size = null;
-        when(bookingRepository.findByBookerAndStartIsAfter(any(), any(), (Sort) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.FUTURE), any(),
+                eq(Pageable.unpaged())))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getUserBookings(
                 anotherUser.getId(),
                 "FUTURE",
@@ -792,18 +827,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findByBookerAndStatusIs(any(), any(), (Pageable) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.WAITING), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getUserBookings(
                 anotherUser.getId(),
                 "WAITING",
@@ -817,18 +853,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = null;
         Integer size = null;
-        when(bookingRepository.findByBookerAndStatusIs(any(), any(), (Sort) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.WAITING), any(),
+                eq(Pageable.unpaged())))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getUserBookings(
                 anotherUser.getId(),
                 "WAITING",
@@ -842,18 +879,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findByBookerAndStatusIs(any(), any(), (Pageable) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.REJECTED), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getUserBookings(
                 anotherUser.getId(),
                 "REJECTED",
@@ -867,18 +905,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = null;
         Integer size = null;
-        when(bookingRepository.findByBookerAndStatusIs(any(), any(), (Sort) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.BOOKER), eq(BookingState.REJECTED), any(),
+                eq(Pageable.unpaged())))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getUserBookings(
                 anotherUser.getId(),
                 "REJECTED",
@@ -892,17 +931,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findAllByItemOwnerIs(any(), (Pageable) any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.OWNER), eq(BookingState.ALL), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getItemsOwnerBookings(
                 anotherUser.getId(),
                 "ALL",
@@ -916,17 +957,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = null;
         Integer size = null;
-        when(bookingRepository.findAllByItemOwnerIs(any(), (Sort) any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.OWNER), eq(BookingState.ALL), any(),
+                eq(Pageable.unpaged())))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getItemsOwnerBookings(
                 anotherUser.getId(),
                 "ALL",
@@ -940,17 +983,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findAllByItemOwnerIs(any(), (Pageable) any())).thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.OWNER), any(), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
 
         Throwable thrown = catchThrowable(() -> {
             bookingService.getItemsOwnerBookings(
@@ -968,18 +1013,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findByItemOwnerAndStartIsBeforeAndEndIsAfter(any(), any(), any(), (Pageable) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.OWNER), eq(BookingState.CURRENT), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getItemsOwnerBookings(
                 anotherUser.getId(),
                 "CURRENT",
@@ -993,18 +1039,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = null;
         Integer size = null;
-        when(bookingRepository.findByItemOwnerAndStartIsBeforeAndEndIsAfter(any(), any(), any(), (Sort) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.OWNER), eq(BookingState.CURRENT), any(),
+                eq(Pageable.unpaged())))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getItemsOwnerBookings(
                 anotherUser.getId(),
                 "CURRENT",
@@ -1018,18 +1065,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findByItemOwnerAndEndIsBefore(any(), any(), (Pageable) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.OWNER), eq(BookingState.PAST), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getItemsOwnerBookings(
                 anotherUser.getId(),
                 "PAST",
@@ -1043,18 +1091,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = null;
         Integer size = null;
-        when(bookingRepository.findByItemOwnerAndEndIsBefore(any(), any(), (Sort) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.OWNER), eq(BookingState.PAST), any(),
+                eq(Pageable.unpaged())))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getItemsOwnerBookings(
                 anotherUser.getId(),
                 "PAST",
@@ -1068,18 +1117,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findByItemOwnerAndStartIsAfter(any(), any(), (Pageable) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.OWNER), eq(BookingState.FUTURE), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getItemsOwnerBookings(
                 anotherUser.getId(),
                 "FUTURE",
@@ -1093,18 +1143,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = null;
         Integer size = null;
-        when(bookingRepository.findByItemOwnerAndStartIsAfter(any(), any(), (Sort) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.OWNER), eq(BookingState.FUTURE), any(),
+                eq(Pageable.unpaged())))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getItemsOwnerBookings(
                 anotherUser.getId(),
                 "FUTURE",
@@ -1118,18 +1169,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findByItemOwnerAndStatusIs(any(), any(), (Pageable) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.OWNER), eq(BookingState.WAITING), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getItemsOwnerBookings(
                 anotherUser.getId(),
                 "WAITING",
@@ -1143,18 +1195,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = null;
         Integer size = null;
-        when(bookingRepository.findByItemOwnerAndStatusIs(any(), any(), (Sort) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.OWNER), eq(BookingState.WAITING), any(),
+                eq(Pageable.unpaged())))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getItemsOwnerBookings(
                 anotherUser.getId(),
                 "WAITING",
@@ -1168,18 +1221,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = 1;
         Integer size = 10;
-        when(bookingRepository.findByItemOwnerAndStatusIs(any(), any(), (Pageable) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.OWNER), eq(BookingState.REJECTED), any(),
+                eq(FIRST_PAGE)))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getItemsOwnerBookings(
                 anotherUser.getId(),
                 "REJECTED",
@@ -1193,18 +1247,19 @@ public class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         BookingDto savedBooking = bookingService.addNewBooking(anotherUser.getId(), bookingFromUser);
         assertEquals(bookingDto, savedBooking);
 
-        when(bookingRepository.save(any())).thenReturn(anotherBooking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(anotherBooking);
         BookingDto savedAnotherBooking = bookingService.addNewBooking(anotherUser.getId(), anotherBookingFromUser);
         assertEquals(anotherBookingDto, savedAnotherBooking);
 
         Integer from = null;
         Integer size = null;
-        when(bookingRepository.findByItemOwnerAndStatusIs(any(), any(), (Sort) any()))
-                .thenReturn(bookings);
+        when(bookingRepository.findAllByState(anyLong(), eq(BookingRole.OWNER), eq(BookingState.REJECTED), any(),
+                eq(Pageable.unpaged())))
+                .thenReturn(bookingViews);
         List<BookingDto> foundBookingsDto = bookingService.getItemsOwnerBookings(
                 anotherUser.getId(),
                 "REJECTED",
@@ -1213,4 +1268,11 @@ public class BookingServiceImplTest {
         assertEquals(bookingsDto, foundBookingsDto);
     }
 
-}
\ No newline at end of file
+    private void stubStatusUpdate() {
+        when(bookingRepository.updateStatus(anyLong(), any(), any())).thenAnswer(invocation -> {
+            booking.setStatus(invocation.getArgument(2));
+            return 1;
+        });
+    }
+
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "shareit.datasource.routing.enabled=true",
+        "shareit.datasource.routing.replica-urls=jdbc:h2:mem:shareit,jdbc:h2:mem:shareit"
+})
+class ReadWriteRoutingDataSourceTest {
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+    @Autowired
+    private RoutingDataSourceConfig.ReplicaDataSources replicaDataSources;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private AvailabilityCalendar availabilityCalendar;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void readOnlyTransactionsUseReplicasInTurn() {
+        Set<String> usedPools = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            usedPools.add(poolUsedBy(readOnly(true)));
+        }
+
+        assertThat(usedPools).isEqualTo(replicaDataSources.getDataSources().keySet());
+    }
+
+    @Test
+    void writeTransactionsUsePrimary() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(poolUsedBy(readOnly(false))).isEqualTo(primaryDataSource.getPoolName());
+        }
+    }
+
+    @Test
+    void availabilityCalendarWarmsUpFromPrimaryInsideReadOnlyTransaction() {
+        long ownerId = userService.create(UserDto.builder()
+                .name("owner")
+                .email("owner-" + UUID.randomUUID() + "@mail.ru")
+                .build()).getId();
+        long itemId = itemService.addNewItem(ownerId, ItemDto.builder()
+                .name("Дрель")
+                .description("Ударная дрель")
+                .available(true)
+                .build()).getId();
+        Map<String, Long> before = acquisitions();
+
+        readOnly(true).executeWithoutResult(status -> availabilityCalendar.get(itemId));
+
+        Map<String, Long> after = acquisitions();
+        assertThat(after.get(primaryDataSource.getPoolName()))
+                .isGreaterThan(before.getOrDefault(primaryDataSource.getPoolName(), 0L));
+        replicaDataSources.getDataSources().keySet().forEach(pool ->
+                assertThat(after.getOrDefault(pool, 0L)).isEqualTo(before.getOrDefault(pool, 0L)));
+    }
+
+    private TransactionTemplate readOnly(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    private String poolUsedBy(TransactionTemplate template) {
+        return template.execute(status -> {
+            jdbcTemplate.queryForObject("select 1", Integer.class);
+            List<HikariDataSource> active = allPools().stream()
+                    .filter(pool -> activeConnections(pool) > 0)
+                    .collect(Collectors.toList());
+            assertThat(active).hasSize(1);
+            return active.get(0).getPoolName();
+        });
+    }
+
+    private List<HikariDataSource> allPools() {
+        List<HikariDataSource> pools = new ArrayList<>(replicaDataSources.getDataSources().values());
+        pools.add(primaryDataSource);
+        return pools;
+    }
+
+    private static int activeConnections(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    private Map<String, Long> acquisitions() {
+        return meterRegistry.find("hikaricp.connections.acquire").timers().stream()
+                .collect(Collectors.toMap(timer -> timer.getId().getTag("pool"), Timer::count));
+    }
+
+}
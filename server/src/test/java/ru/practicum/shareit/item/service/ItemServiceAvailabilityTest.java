@@ -0,0 +1,134 @@
+package ru.practicum.shareit.item.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingFromUserDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.BookingStatus;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
+import ru.practicum.shareit.item.dto.IntervalDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ItemServiceAvailabilityTest {
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final LocalDateTime from = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    private final LocalDateTime to = from.plusDays(10);
+
+    private long ownerId;
+    private long bookerId;
+    private long itemId;
+    private long bookingId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = addUser("owner");
+        bookerId = addUser("booker");
+        itemId = itemService.addNewItem(ownerId, ItemDto.builder()
+                .name("дрель")
+                .description("описание")
+                .available(true)
+                .build()).getId();
+        bookingId = bookingService.addNewBooking(bookerId, BookingFromUserDto.builder()
+                .itemId(itemId)
+                .start(from.plusDays(2))
+                .end(from.plusDays(3))
+                .build()).getId();
+    }
+
+    @Test
+    void ownerSeesBookingDetails() {
+        AvailabilityDto availability = itemService.getAvailability(ownerId, itemId, from, to);
+
+        assertThat(availability.getBusy()).singleElement().satisfies(interval -> {
+            assertThat(interval.getBookingId()).isEqualTo(bookingId);
+            assertThat(interval.getStatus()).isEqualTo(BookingStatus.WAITING);
+        });
+        assertThat(availability.getFree()).hasSize(2);
+    }
+
+    @Test
+    void otherUsersSeeOnlyIntervals() {
+        AvailabilityDto availability = itemService.getAvailability(bookerId, itemId, from, to);
+
+        assertThat(availability.getBusy()).singleElement().satisfies(interval -> {
+            assertThat(interval.getStart()).isEqualTo(from.plusDays(2));
+            assertThat(interval.getEnd()).isEqualTo(from.plusDays(3));
+            assertThat(interval.getBookingId()).isNull();
+            assertThat(interval.getStatus()).isNull();
+        });
+        assertThat(availability.getFree()).extracting(IntervalDto::getStart).containsExactly(from, from.plusDays(3));
+    }
+
+    @Test
+    void warmCalendarIsRenderedWithoutReadingItem() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        itemService.getAvailability(ownerId, itemId, from, to);
+
+        statistics.clear();
+        itemService.getAvailability(ownerId, itemId, from, to);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        itemService.getAvailability(bookerId, itemId, from, to);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void calendarLoadsWithLastFreeConnection() throws SQLException {
+        try (Connection held = dataSource.getConnection()) {
+            AvailabilityDto availability = itemService.getAvailability(bookerId, itemId, from, to);
+
+            assertThat(availability.getBusy()).hasSize(1);
+        }
+    }
+
+    @Test
+    void unknownUserIsRejected() {
+        assertThatThrownBy(() -> itemService.getAvailability(0, itemId, from, to))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> itemService.getAvailability(Long.MAX_VALUE, itemId, from, to))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    private long addUser(String name) {
+        return userService.create(UserDto.builder()
+                .name(name)
+                .email(name + "-" + UUID.randomUUID() + "@mail.ru")
+                .build()).getId();
+    }
+
+}
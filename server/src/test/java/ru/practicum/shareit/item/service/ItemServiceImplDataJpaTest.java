@@ -0,0 +1,187 @@
+package ru.practicum.shareit.item.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.enums.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.CommentMapperImpl;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        ItemServiceImpl.class,
+        AvailabilityCalendar.class,
+        BookingMapperImpl.class,
+        ItemMapperImpl.class,
+        CommentMapperImpl.class,
+        ItemServiceImplDataJpaTest.MetricsConfig.class
+})
+class ItemServiceImplDataJpaTest {
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ItemService itemService;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = em.persist(User.builder().name("owner").email("owner-" + UUID.randomUUID() + "@mail.ru").build());
+        booker = em.persist(User.builder().name("booker").email("booker-" + UUID.randomUUID() + "@mail.ru").build());
+    }
+
+    @Test
+    void getItemDoesNotDependOnNumberOfCommentsAndBookings() {
+        Item few = persistItem("Пила");
+        persistComments(few, 1);
+        persistBooking(few, LocalDateTime.now().minusDays(3), BookingStatus.APPROVED);
+        Item many = persistItem("Молоток");
+        persistComments(many, 10);
+        for (int i = 0; i < 5; i++) {
+            persistBooking(many, LocalDateTime.now().minusDays(20 - i * 2L), BookingStatus.APPROVED);
+            persistBooking(many, LocalDateTime.now().plusDays(2 + i * 2L), BookingStatus.APPROVED);
+        }
+
+        long forFew = countStatements(() -> itemService.getItem(owner.getId(), few.getId()));
+        long forMany = countStatements(() -> {
+            ItemDto dto = itemService.getItem(owner.getId(), many.getId());
+            assertThat(dto.getComments()).hasSize(10);
+            assertThat(dto.getLastBooking()).isNotNull();
+            assertThat(dto.getNextBooking()).isNotNull();
+        });
+
+        assertThat(forMany).isEqualTo(forFew).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void ownerItemsPageDoesNotDependOnNumberOfItems() {
+        persistItemWithHistory(persistItem("Дрель"));
+        long forOne = countStatements(() ->
+                assertThat(itemService.getOwnerItems(owner.getId(), 0, 50)).hasSize(1));
+
+        for (int i = 0; i < 30; i++) {
+            persistItemWithHistory(persistItem("Вещь " + i));
+        }
+        long forMany = countStatements(() -> {
+            List<ItemDto> items = itemService.getOwnerItems(owner.getId(), 0, 50);
+            assertThat(items).hasSize(31);
+            assertThat(items).allSatisfy(dto -> {
+                assertThat(dto.getLastBooking()).isNotNull();
+                assertThat(dto.getNextBooking()).isNotNull();
+                assertThat(dto.getComments()).hasSize(2);
+            });
+        });
+
+        assertThat(forMany).isEqualTo(forOne).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void bookingsWithSameBoundsResolveToSameBookingInPageAndCard() {
+        Item item = persistItem("Дрель");
+        LocalDateTime past = LocalDateTime.now().minusDays(5).withNano(0);
+        LocalDateTime future = LocalDateTime.now().plusDays(5).withNano(0);
+        persistBooking(item, past, BookingStatus.APPROVED);
+        Booking lastBooking = persistBooking(item, past, BookingStatus.APPROVED);
+        Booking nextBooking = persistBooking(item, future, BookingStatus.APPROVED);
+        persistBooking(item, future, BookingStatus.APPROVED);
+        em.flush();
+        em.clear();
+
+        ItemDto fromPage = itemService.getOwnerItems(owner.getId(), null, null).get(0);
+        ItemDto fromCard = itemService.getItem(owner.getId(), item.getId());
+
+        assertThat(fromPage.getLastBooking().getId()).isEqualTo(lastBooking.getId());
+        assertThat(fromPage.getNextBooking().getId()).isEqualTo(nextBooking.getId());
+        assertThat(fromCard.getLastBooking().getId()).isEqualTo(lastBooking.getId());
+        assertThat(fromCard.getNextBooking().getId()).isEqualTo(nextBooking.getId());
+    }
+
+    private void persistItemWithHistory(Item item) {
+        persistComments(item, 2);
+        persistBooking(item, LocalDateTime.now().minusDays(3), BookingStatus.APPROVED);
+        persistBooking(item, LocalDateTime.now().plusDays(3), BookingStatus.APPROVED);
+    }
+
+    private long countStatements(Runnable action) {
+        em.flush();
+        em.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Item persistItem(String name) {
+        return em.persist(Item.builder()
+                .name(name)
+                .description(name + " в хорошем состоянии")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    private Booking persistBooking(Item item, LocalDateTime start, BookingStatus status) {
+        return em.persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusDays(1))
+                .status(status)
+                .build());
+    }
+
+    private List<Comment> persistComments(Item item, int count) {
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            comments.add(em.persist(Comment.builder()
+                    .item(item)
+                    .author(booker)
+                    .text("Отзыв " + i)
+                    .created(LocalDateTime.now().minusDays(1))
+                    .build()));
+        }
+        return comments;
+    }
+
+}
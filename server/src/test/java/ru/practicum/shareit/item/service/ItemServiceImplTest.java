@@ -21,6 +21,7 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
@@ -35,6 +36,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -87,7 +89,7 @@ public class ItemServiceImplTest {
     private static User anotherUser;
     private static Item item;
     private static Item anotherItem;
-    private static List<Item> items;
+    private static List<ItemSearchView> itemViews;
     private static ItemDto itemDto;
     private static ItemDto anotherItemDto;
     private static List<ItemDto> itemsDto;
@@ -132,21 +134,22 @@ public class ItemServiceImplTest {
         anotherItemDto = itemMapper.toItemDto(anotherItem);
         anotherItemDto.setComments(new ArrayList<>());
 
-        items = List.of(item, anotherItem);
+        itemViews = List.of(toView(item), toView(anotherItem));
         itemsDto = List.of(itemDto, anotherItemDto);
 
+        LocalDateTime bookingDay = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
         bookingByAnotherUser = Booking.builder()
                 .id(1L)
-                .start(LocalDateTime.of(2023, 6, 5, 14, 52, 0))
-                .end(LocalDateTime.of(2023, 6, 5, 14, 53, 0))
+                .start(bookingDay.withHour(14))
+                .end(bookingDay.withHour(15))
                 .item(item)
                 .booker(anotherUser)
                 .status(BookingStatus.WAITING)
                 .build();
         bookingByAnotherUserDto = BookingFromUserDto.builder()
                 .itemId(item.getId())
-                .start(LocalDateTime.of(2023, 6, 5, 14, 52, 0))
-                .end(LocalDateTime.of(2023, 6, 5, 14, 53, 0))
+                .start(bookingDay.withHour(14))
+                .end(bookingDay.withHour(15))
                 .build();
 
         comment = Comment.builder()
@@ -332,7 +335,7 @@ public class ItemServiceImplTest {
 
         Integer from = null;
         Integer size = null;
-        when(itemRepository.findAllByOwnerId(anyLong())).thenReturn(items);
+        when(itemRepository.findAllByOwnerId(anyLong())).thenReturn(List.copyOf(itemViews));
 
         List<ItemDto> ownerItems = itemService.getOwnerItems(user.getId(), from, size);
         assertEquals(itemsDto, ownerItems);
@@ -352,7 +355,7 @@ public class ItemServiceImplTest {
 
         int from = 1;
         int size = 10;
-        when(itemRepository.findAllByOwnerId(anyLong(), any())).thenReturn(items);
+        when(itemRepository.findAllByOwnerId(anyLong(), any())).thenReturn(List.copyOf(itemViews));
 
         List<ItemDto> ownerItems = itemService.getOwnerItems(user.getId(), from, size);
         assertEquals(itemsDto, ownerItems);
@@ -372,7 +375,7 @@ public class ItemServiceImplTest {
 
         Integer from = -1;
         Integer size = 10;
-        when(itemRepository.findAllByOwnerId(anyLong(), any())).thenReturn(items);
+        when(itemRepository.findAllByOwnerId(anyLong(), any())).thenReturn(List.copyOf(itemViews));
 
         Throwable thrown = catchThrowable(() -> {
             itemService.getOwnerItems(user.getId(), from, size);
@@ -394,7 +397,7 @@ public class ItemServiceImplTest {
 
         Integer from = 1;
         Integer size = -10;
-        when(itemRepository.findAllByOwnerId(anyLong(), any())).thenReturn(items);
+        when(itemRepository.findAllByOwnerId(anyLong(), any())).thenReturn(List.copyOf(itemViews));
 
         Throwable thrown = catchThrowable(() -> {
             itemService.getOwnerItems(user.getId(), from, size);
@@ -416,7 +419,7 @@ public class ItemServiceImplTest {
 
         int from = 1;
         int size = 10;
-        when(itemRepository.search(anyString(), eq(PageRequest.of(from / size, size)))).thenReturn(items);
+        when(itemRepository.search(anyString(), eq(PageRequest.of(from / size, size)))).thenReturn(itemViews);
 
         String text = "item";
         List<ItemDto> ownerItemsDto = itemService.search(user.getId(), text, from, size);
@@ -439,7 +442,7 @@ public class ItemServiceImplTest {
 
         int from = 1;
         int size = 10;
-        when(itemRepository.search(anyString(), eq(PageRequest.of(from / size, size)))).thenReturn(items);
+        when(itemRepository.search(anyString(), eq(PageRequest.of(from / size, size)))).thenReturn(itemViews);
 
         String text = "";
         List<ItemDto> ownerItems = itemService.search(user.getId(), text, from, size);
@@ -460,7 +463,7 @@ public class ItemServiceImplTest {
 
         Integer from = null;
         Integer size = null;
-        when(itemRepository.search(anyString())).thenReturn(items);
+        when(itemRepository.search(anyString())).thenReturn(itemViews);
 
         String text = "item";
         List<ItemDto> ownerItemsDto = itemService.search(user.getId(), text, from, size);
@@ -488,7 +491,7 @@ public class ItemServiceImplTest {
         ItemDto updatedItemDto = itemService.updateItem(user.getId(), item.getId(), itemDto);
         assertEquals(itemDto, updatedItemDto);
 
-        when(bookingRepository.save(any())).thenReturn(bookingByAnotherUser);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(bookingByAnotherUser);
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         BookingDto bookingDto = bookingService.addNewBooking(anotherUser.getId(), bookingByAnotherUserDto);
         assertEquals(bookingByAnotherUser, bookingMapper.toBooking(bookingDto));
@@ -548,7 +551,7 @@ public class ItemServiceImplTest {
         ItemDto updatedItemDto = itemService.updateItem(user.getId(), item.getId(), itemDto);
         assertEquals(itemDto, updatedItemDto);
 
-        when(bookingRepository.save(any())).thenReturn(bookingByAnotherUser);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(bookingByAnotherUser);
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(anotherUser));
         BookingDto bookingDto = bookingService.addNewBooking(anotherUser.getId(), bookingByAnotherUserDto);
         assertEquals(bookingByAnotherUser, bookingMapper.toBooking(bookingDto));
@@ -572,8 +575,8 @@ public class ItemServiceImplTest {
         assertEquals(item, savedItem);
 
         when(itemRepository.findById(item.getId())).thenReturn(Optional.ofNullable(item));
-        Item foundItem = itemService.findItem(item.getId());
-        assertEquals(item, foundItem);
+        ItemDto foundItemDto = itemService.getItem(anotherUser.getId(), item.getId());
+        assertEquals(itemDto, foundItemDto);
     }
 
     @Test
@@ -585,7 +588,7 @@ public class ItemServiceImplTest {
         assertEquals(item, savedItem);
 
         Throwable thrown = catchThrowable(() -> {
-            itemService.findItem(0);
+            itemService.getItem(user.getId(), 0);
         });
         assertThat(thrown).isInstanceOf(ValidationException.class);
     }
@@ -601,7 +604,7 @@ public class ItemServiceImplTest {
         when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         Throwable thrown = catchThrowable(() -> {
-            itemService.findItem(item.getId());
+            itemService.getItem(user.getId(), item.getId());
         });
         assertThat(thrown).isInstanceOf(NotFoundException.class);
     }
@@ -619,4 +622,38 @@ public class ItemServiceImplTest {
         assertEquals(itemDto, savedItemDto);
     }
 
-}
\ No newline at end of file
+    private static ItemSearchView toView(Item item) {
+        return new ItemSearchView() {
+            @Override
+            public Integer getSearchRank() {
+                return 0;
+            }
+
+            @Override
+            public Long getId() {
+                return item.getId();
+            }
+
+            @Override
+            public String getName() {
+                return item.getName();
+            }
+
+            @Override
+            public String getDescription() {
+                return item.getDescription();
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return item.getAvailable();
+            }
+
+            @Override
+            public Long getRequestId() {
+                return item.getRequest() == null ? null : item.getRequest().getId();
+            }
+        };
+    }
+
+}
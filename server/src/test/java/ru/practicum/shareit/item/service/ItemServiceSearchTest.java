@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@SpringBootTest
+class ItemServiceSearchTest {
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+
+    private long ownerId;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.create(UserDto.builder()
+                .name("owner")
+                .email("owner-" + UUID.randomUUID() + "@mail.ru")
+                .build()).getId();
+        token = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void searchTreatsLikeWildcardsLiterally() {
+        long literal = addItem("дрель " + token + "a_b", "описание");
+        addItem("дрель " + token + "axb", "описание");
+        addItem("дрель " + token + "a%b", "описание");
+
+        List<Long> found = itemService.search(ownerId, token + "a_b", null, null).stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+
+        assertThat(found).containsExactly(literal);
+    }
+
+    @Test
+    void searchPageWalksAllRanksWithoutSkippingRows() {
+        String text = token + "a_b";
+        List<Long> expected = new ArrayList<>();
+        expected.add(addItem("пила " + text, "описание"));
+        expected.add(addItem("пила " + text.toUpperCase(), "описание"));
+        long descriptionMatch1 = addItem("пила", "подходит для " + text);
+        long descriptionMatch2 = addItem("пила", "подходит для " + text);
+        addItem("пила " + token + "axb", "описание " + token + "a-b");
+        expected.add(descriptionMatch1);
+        expected.add(descriptionMatch2);
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = "";
+        do {
+            CursorPage<ItemDto> page = itemService.searchPage(ownerId, text, cursor, 1);
+            page.getItems().forEach(item -> walked.add(item.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(walked).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void searchPageFillsPageFromDescriptionMatches() {
+        long nameMatch1 = addItem("пила " + token, "описание");
+        long descriptionMatch = addItem("пила", "подходит для " + token);
+        long nameMatch2 = addItem("пила " + token, "описание");
+
+        CursorPage<ItemDto> first = itemService.searchPage(ownerId, token, "", 2);
+        CursorPage<ItemDto> second = itemService.searchPage(ownerId, token, first.getNextCursor(), 2);
+
+        assertThat(first.getItems()).extracting(ItemDto::getId).containsExactly(nameMatch1, nameMatch2);
+        assertThat(second.getItems()).extracting(ItemDto::getId).containsExactly(descriptionMatch);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void searchPageRejectsUnknownRankInCursor() {
+        String cursor = new PageCursor("2", 1).encode();
+
+        Throwable thrown = catchThrowable(() -> itemService.searchPage(ownerId, token, cursor, 2));
+
+        assertThat(thrown).isInstanceOf(ValidationException.class);
+    }
+
+    private long addItem(String name, String description) {
+        return itemService.addNewItem(ownerId, ItemDto.builder()
+                .name(name)
+                .description(description)
+                .available(true)
+                .build()).getId();
+    }
+
+}
@@ -10,15 +10,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.request.dto.ItemRequestView;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repo.ItemRequestRepository;
@@ -67,9 +68,9 @@ public class ItemRequestServiceImplTest {
     private static ItemRequestDto anotherRequestDto;
     private static ItemRequestShortDto requestFromUser;
     private static ItemRequestShortDto anotherRequestFromUser;
-    private static List<Item> items;
+    private static List<ItemView> items;
     private static List<ItemDto> itemsDto;
-    private static List<ItemRequest> requests;
+    private static List<ItemRequestView> requests;
 
     @BeforeEach
     void setUp() {
@@ -79,6 +80,14 @@ public class ItemRequestServiceImplTest {
                 .email("user@ya.ru")
                 .build();
 
+        request = ItemRequest.builder()
+                .id(1L)
+                .description("Request 1")
+                .created(LocalDateTime.of(2023, 5, 5, 12, 0, 0))
+                .requestor(user)
+                .build();
+        requestDto = requestMapper.toItemRequestDto(request);
+
         Item item = Item.builder()
                 .id(1L)
                 .name("Item 1")
@@ -99,17 +108,9 @@ public class ItemRequestServiceImplTest {
                 .build();
         ItemDto anotherItemDto = itemMapper.toItemDto(anotherItem);
 
-        items = List.of(item, anotherItem);
+        items = List.of(toView(item), toView(anotherItem));
         itemsDto = List.of(itemDto, anotherItemDto);
 
-        request = ItemRequest.builder()
-                .id(1L)
-                .description("Request 1")
-                .created(LocalDateTime.of(2023, 5, 5, 12, 0, 0))
-                .requestor(user)
-                .build();
-        requestDto = requestMapper.toItemRequestDto(request);
-
         requestFromUser = ItemRequestShortDto.builder()
                 .id(1L)
                 .description("Request 1")
@@ -128,7 +129,7 @@ public class ItemRequestServiceImplTest {
                 .description("Request 2")
                 .build();
 
-        requests = List.of(request, anotherRequest);
+        requests = List.of(toView(request), toView(anotherRequest));
     }
 
     @Test
@@ -197,7 +198,7 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void saveNewRequestsAndGetAll() {
-        when(itemRepository.findAllByRequestId(request.getId())).thenReturn(items);
+        when(itemRepository.findAllByRequestIdIn(any())).thenReturn(items);
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
 
@@ -209,7 +210,7 @@ public class ItemRequestServiceImplTest {
         ItemRequestDto savedAnotherRequestDto = requestService.create(user.getId(), anotherRequestFromUser);
         assertEquals(anotherRequestDto, savedAnotherRequestDto);
 
-        when(requestRepository.findAllByRequestorId(anyLong(), any())).thenReturn(requests);
+        when(requestRepository.findAllByRequestorId(anyLong())).thenReturn(requests);
         List<ItemRequestDto> foundRequestsDto = requestService.getAll(user.getId());
         requestDto.setItems(itemsDto);
         anotherRequestDto.setItems(new ArrayList<>());
@@ -218,7 +219,7 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void saveNewRequestsAndSearchWithPageable() {
-        when(itemRepository.findAllByRequestId(request.getId())).thenReturn(items);
+        when(itemRepository.findAllByRequestIdIn(any())).thenReturn(items);
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
 
@@ -241,7 +242,7 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void saveNewRequestsAndSearchWithSort() {
-        when(itemRepository.findAllByRequestId(request.getId())).thenReturn(items);
+        when(itemRepository.findAllByRequestIdIn(any())).thenReturn(items);
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
 
@@ -255,7 +256,7 @@ public class ItemRequestServiceImplTest {
 
         Integer from = null;
         Integer size = null;
-        when(requestRepository.findAllByOtherRequestors(anyLong(), (Sort) any())).thenReturn(requests);
+        when(requestRepository.findAllByOtherRequestors(anyLong())).thenReturn(requests);
         List<ItemRequestDto> foundRequestsDto = requestService.search(user.getId(), from, size);
         requestDto.setItems(itemsDto);
         anotherRequestDto.setItems(new ArrayList<>());
@@ -264,7 +265,7 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void saveNewRequestsAndSearchWithWrongFromPageable() {
-        when(itemRepository.findAllByRequestId(request.getId())).thenReturn(items);
+        when(itemRepository.findAllByRequestIdIn(any())).thenReturn(items);
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
 
@@ -278,7 +279,7 @@ public class ItemRequestServiceImplTest {
 
         Integer from = -1;
         Integer size = 10;
-        when(requestRepository.findAllByOtherRequestors(anyLong(), (Sort) any())).thenReturn(requests);
+        when(requestRepository.findAllByOtherRequestors(anyLong())).thenReturn(requests);
         Throwable thrown = catchThrowable(() -> {
             requestService.search(user.getId(), from, size);
         });
@@ -287,7 +288,7 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void saveNewRequestsAndSearchWithWrongSizePageable() {
-        when(itemRepository.findAllByRequestId(request.getId())).thenReturn(items);
+        when(itemRepository.findAllByRequestIdIn(any())).thenReturn(items);
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
 
@@ -301,7 +302,7 @@ public class ItemRequestServiceImplTest {
 
         Integer from = 1;
         Integer size = -1;
-        when(requestRepository.findAllByOtherRequestors(anyLong(), (Sort) any())).thenReturn(requests);
+        when(requestRepository.findAllByOtherRequestors(anyLong())).thenReturn(requests);
         Throwable thrown = catchThrowable(() -> {
             requestService.search(user.getId(), from, size);
         });
@@ -318,8 +319,9 @@ public class ItemRequestServiceImplTest {
         assertEquals(requestDto, savedRequestDto);
 
         when(requestRepository.findById(anyLong())).thenReturn(Optional.ofNullable(request));
-        ItemRequest foundRequest = requestService.findById(request.getId());
-        assertEquals(request, foundRequest);
+        ItemRequestDto foundRequestDto = requestService.getItemRequest(user.getId(), request.getId());
+        requestDto.setItems(itemsDto);
+        assertEquals(requestDto, foundRequestDto);
     }
 
     @Test
@@ -333,9 +335,57 @@ public class ItemRequestServiceImplTest {
 
         when(requestRepository.findById(anyLong())).thenReturn(Optional.empty());
         Throwable thrown = catchThrowable(() -> {
-            requestService.findById(99);
+            requestService.getItemRequest(user.getId(), 99);
         });
         assertThat(thrown).isInstanceOf(NotFoundException.class);
     }
 
-}
\ No newline at end of file
+    private static ItemView toView(Item item) {
+        return new ItemView() {
+            @Override
+            public Long getId() {
+                return item.getId();
+            }
+
+            @Override
+            public String getName() {
+                return item.getName();
+            }
+
+            @Override
+            public String getDescription() {
+                return item.getDescription();
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return item.getAvailable();
+            }
+
+            @Override
+            public Long getRequestId() {
+                return item.getRequest().getId();
+            }
+        };
+    }
+
+    private static ItemRequestView toView(ItemRequest request) {
+        return new ItemRequestView() {
+            @Override
+            public Long getId() {
+                return request.getId();
+            }
+
+            @Override
+            public String getDescription() {
+                return request.getDescription();
+            }
+
+            @Override
+            public LocalDateTime getCreated() {
+                return request.getCreated();
+            }
+        };
+    }
+
+}
@@ -108,7 +108,7 @@ public class UserServiceImplTest {
         userDto = userMapper.toUserDto(user);
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.ofNullable(user));
-        when(userRepository.save(user)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
         UserDto updatedUserDto = userService.update(userDto.getId(), userDto);
         assertEquals(userDto, updatedUserDto);
         User updatedUser = userMapper.toUser(updatedUserDto);